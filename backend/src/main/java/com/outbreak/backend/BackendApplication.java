@@ -3,11 +3,16 @@ package com.outbreak.backend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Map;
+
 @SpringBootApplication
 public class BackendApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(BackendApplication.class, args);
+		SpringApplication application = new SpringApplication(BackendApplication.class);
+		// Lowest-precedence defaults; application properties can still narrow or widen the exposure
+		application.setDefaultProperties(Map.of("management.endpoints.web.exposure.include", "health,metrics"));
+		application.run(args);
 	}
 
 }
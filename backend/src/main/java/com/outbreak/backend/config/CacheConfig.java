@@ -0,0 +1,58 @@
+package com.outbreak.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.outbreak.backend.service.DataVersionTracker;
+import com.outbreak.backend.service.DataVersionTracker.DataAggregate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String GRAPH_MONTHLY = "graphMonthly";
+    public static final String GRAPH_DISTRICT = "graphDistrict";
+    public static final String GRAPH_WEEKLY = "graphWeekly";
+    public static final String GRAPH_YEARLY = "graphYearly";
+    public static final String GRAPH_ALL = "graphAll";
+    public static final String GRAPH_DASHBOARD = "graphDashboard";
+
+    public static final String GRAPH_KEY_GENERATOR = "graphCacheKeyGenerator";
+
+    public static final String[] GRAPH_CACHES = {GRAPH_MONTHLY, GRAPH_DISTRICT, GRAPH_WEEKLY, GRAPH_YEARLY, GRAPH_ALL, GRAPH_DASHBOARD};
+
+    @Value("${outbreak.cache.graph.maximumSize:100}")
+    private long graphCacheMaximumSize;
+
+    @Value("${outbreak.cache.graph.ttl:PT10M}")
+    private Duration graphCacheTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(GRAPH_CACHES);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(graphCacheMaximumSize)
+                .expireAfterWrite(graphCacheTtl)
+                .recordStats());
+        return cacheManager;
+    }
+
+    // The key carries the data versions read before the method runs. A result computed from data that changed
+    // meanwhile is stored under the old versions, which no reader asks for once the change has been applied.
+    @Bean(GRAPH_KEY_GENERATOR)
+    public KeyGenerator graphCacheKeyGenerator(DataVersionTracker dataVersionTracker) {
+        return (target, method, params) -> new SimpleKey(
+                dataVersionTracker.version(DataAggregate.GRAPH_DATA),
+                dataVersionTracker.version(DataAggregate.DISTRICTS),
+                SimpleKeyGenerator.generateKey(params));
+    }
+}
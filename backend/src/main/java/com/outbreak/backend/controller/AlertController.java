@@ -3,12 +3,15 @@ package com.outbreak.backend.controller;
 import com.outbreak.backend.config.AppConstants;
 import com.outbreak.backend.payload.*;
 import com.outbreak.backend.service.AlertService;
+import com.outbreak.backend.service.DataVersionTracker;
+import com.outbreak.backend.service.DataVersionTracker.DataAggregate;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api")
@@ -17,6 +20,9 @@ public class AlertController {
     @Autowired
     AlertService alertService;
 
+    @Autowired
+    DataVersionTracker dataVersionTracker;
+
     @PostMapping("/public/alerts/{districtId}")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_MOH_USER')")
     public ResponseEntity<AlertDTO> createAlert(@Valid @RequestBody AlertDTO alertDTO, @PathVariable Long districtId){
@@ -40,8 +46,13 @@ public class AlertController {
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_ALERTS_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
-        AlertResponse alertResponse = alertService.getAllAlert(pageNumber, pageSize, sortBy, sortOrder);
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.ALERTS, DataAggregate.DISTRICTS))
+            return null;
+
+        AlertResponse alertResponse = alertService.getAllAlert(pageNumber, pageSize, sortBy, sortOrder, cursor);
         return new ResponseEntity<>(alertResponse, HttpStatus.OK);
     }
 
@@ -61,7 +72,11 @@ public class AlertController {
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_ALERTS_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.ALERTS, DataAggregate.DISTRICTS))
+            return null;
+
         AlertResponse alertResponse = alertService.searchAlertByDistrictIdOrDistrictName(input, pageNumber, pageSize, sortBy, sortOrder);
         return new ResponseEntity<>(alertResponse, HttpStatus.OK);
     }
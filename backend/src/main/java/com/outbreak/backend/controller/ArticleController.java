@@ -4,12 +4,15 @@ import com.outbreak.backend.config.AppConstants;
 import com.outbreak.backend.payload.ArticleDTO;
 import com.outbreak.backend.payload.ArticleResponse;
 import com.outbreak.backend.service.ArticleService;
+import com.outbreak.backend.service.DataVersionTracker;
+import com.outbreak.backend.service.DataVersionTracker.DataAggregate;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -21,6 +24,9 @@ public class ArticleController {
     @Autowired
     ArticleService articleService;
 
+    @Autowired
+    DataVersionTracker dataVersionTracker;
+
     @PostMapping("/admin/article")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_MOH_USER')")
     public ResponseEntity<ArticleDTO> addArticle(@RequestParam("title") String title,@RequestParam("description") String description,@RequestParam("authorName") String authorName, @RequestParam("image") MultipartFile image) throws IOException {
@@ -57,9 +63,13 @@ public class ArticleController {
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize" , defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_ARTICLES_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.ARTICLES))
+            return null;
 
-        ArticleResponse articleResponse = articleService.getAllArticles(pageNumber, pageSize, sortBy, sortOrder);
+        ArticleResponse articleResponse = articleService.getAllArticles(pageNumber, pageSize, sortBy, sortOrder, cursor);
         return new ResponseEntity<>(articleResponse,HttpStatus.OK);
 
     }
@@ -69,7 +79,11 @@ public class ArticleController {
                                                                @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
                                                                @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
                                                                @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_ARTICLES_BY, required = false) String sortBy,
-                                                               @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
+                                                               @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+                                                               WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.ARTICLES))
+            return null;
+
         ArticleResponse articleResponse = articleService.searchArticleByKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder);
         return new ResponseEntity<>(articleResponse, HttpStatus.FOUND);
     }
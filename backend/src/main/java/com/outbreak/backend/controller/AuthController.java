@@ -13,9 +13,12 @@ import com.outbreak.backend.security.request.LoginRequest;
 import com.outbreak.backend.security.request.SignupRequest;
 import com.outbreak.backend.security.response.MessageResponse;
 import com.outbreak.backend.security.response.UserInfoResponse;
+import com.outbreak.backend.security.services.PasswordHashingExecutor;
 import com.outbreak.backend.security.services.UserDetailsImpl;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
@@ -24,11 +27,12 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @RestController
@@ -50,9 +54,22 @@ public class AuthController {
     @Autowired
     DivisionRepository divisionRepository;
 
+    @Autowired
+    PasswordHashingExecutor passwordHashingExecutor;
+
+    // Spring Boot's async task pool; runs the database and JWT work so the hashing pool only hashes
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    Executor applicationTaskExecutor;
 
+
+    // The request thread is released; the provider's encoder sends only the BCrypt check to the hashing pool
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@RequestBody LoginRequest loginRequest) {
+        return CompletableFuture.supplyAsync(() -> signIn(loginRequest), applicationTaskExecutor);
+    }
+
+    private ResponseEntity<?> signIn(LoginRequest loginRequest) {
         Authentication authentication;
         try {
             authentication = authenticationManager
@@ -64,8 +81,7 @@ public class AuthController {
             return new ResponseEntity<Object>(map, HttpStatus.NOT_FOUND);
         }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-
+        // The session is stateless and this runs on an async thread, so the cookie alone carries the login
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
         ResponseCookie jwtCookie = jwtUtils.generateJwtCookie(userDetails);
@@ -82,25 +98,34 @@ public class AuthController {
 
 
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
 
         Division division = divisionRepository.findById(signUpRequest.getDivisionId())
                 .orElseThrow(() -> new ResourceNotFoundException("Division", "divisionId", signUpRequest.getDivisionId()));
 
         if (userRepository.existsByUserName(signUpRequest.getUsername())) {
-            return ResponseEntity.badRequest().body(new MessageResponse("Error: Username is already taken!"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(new MessageResponse("Error: Username is already taken!")));
         }
 
         if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity.badRequest().body(new MessageResponse("Error: Email is already in use!"));
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(new MessageResponse("Error: Email is already in use!")));
         }
 
+        // BCrypt hashing runs on the hashing pool and the user insert back on the async pool;
+        // the request thread is released while both run
+        return passwordHashingExecutor.submit("encode", () -> encoder.encode(signUpRequest.getPassword()))
+                .thenApplyAsync(passwordHash -> createUser(signUpRequest, division, passwordHash), applicationTaskExecutor);
+    }
+
+    private ResponseEntity<?> createUser(SignupRequest signUpRequest, Division division, String passwordHash) {
         // Create new user's account
         User user = new User(signUpRequest.getUsername(),
                 signUpRequest.getEmail(),
                 signUpRequest.getFirstName(),
                 signUpRequest.getLastName(),
-                encoder.encode(signUpRequest.getPassword()),
+                passwordHash,
                 division);
 
         Set<String> strRoles = signUpRequest.getRole();
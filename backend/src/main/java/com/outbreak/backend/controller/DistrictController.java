@@ -3,6 +3,9 @@ package com.outbreak.backend.controller;
 import com.outbreak.backend.config.AppConstants;
 import com.outbreak.backend.payload.DistrictDTO;
 import com.outbreak.backend.payload.DistrictResponse;
+import com.outbreak.backend.payload.NameSuggestionDTO;
+import com.outbreak.backend.service.DataVersionTracker;
+import com.outbreak.backend.service.DataVersionTracker.DataAggregate;
 import com.outbreak.backend.service.DistrictService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +13,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @CrossOrigin
@@ -19,12 +25,19 @@ public class DistrictController {
     @Autowired
     DistrictService districtService;
 
+    @Autowired
+    DataVersionTracker dataVersionTracker;
+
     @GetMapping("/public/district")
     public ResponseEntity<DistrictResponse> getAllDistrict(
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_DISTRICTS_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.DISTRICTS, DataAggregate.DIVISIONS))
+            return null;
+
         DistrictResponse districtResponse = districtService.getAllDistrict(pageNumber, pageSize, sortBy, sortOrder);
         return new ResponseEntity<>(districtResponse, HttpStatus.OK);
     }
@@ -34,7 +47,10 @@ public class DistrictController {
                                                                           @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
                                                                           @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
                                                                           @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_DISTRICTS_BY, required = false) String sortBy,
-                                                                          @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
+                                                                          @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+                                                                          WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.DISTRICTS, DataAggregate.DIVISIONS))
+            return null;
 
         DistrictResponse districtResponse = districtService.searchDistrictByIdOrDistrictName(input, pageNumber, pageSize, sortBy, sortOrder);
         return new ResponseEntity<>(districtResponse, HttpStatus.FOUND);
@@ -44,6 +60,19 @@ public class DistrictController {
     }
 
 
+    // Ranked district and division names for the search boxes, served from the in-memory name index
+    @GetMapping("/public/district/autocomplete")
+    public ResponseEntity<List<NameSuggestionDTO>> autocomplete(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "limit", defaultValue = "10", required = false) Integer limit,
+            WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.DISTRICTS, DataAggregate.DIVISIONS))
+            return null;
+
+        List<NameSuggestionDTO> suggestions = districtService.autocomplete(query, limit);
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
+    }
+
     @PostMapping("/admin/district")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<DistrictDTO> createDistrict(@Valid @RequestBody DistrictDTO districtDTO){
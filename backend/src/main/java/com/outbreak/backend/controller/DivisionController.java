@@ -4,6 +4,8 @@ import com.outbreak.backend.config.AppConstants;
 import com.outbreak.backend.payload.DatasetResponse;
 import com.outbreak.backend.payload.DivisionDTO;
 import com.outbreak.backend.payload.DivisionResponse;
+import com.outbreak.backend.service.DataVersionTracker;
+import com.outbreak.backend.service.DataVersionTracker.DataAggregate;
 import com.outbreak.backend.service.DivisionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,8 +24,14 @@ public class DivisionController {
     @Autowired
     DivisionService divisionService;
 
+    @Autowired
+    DataVersionTracker dataVersionTracker;
+
     @GetMapping("/public/division")
-    public ResponseEntity<List<DivisionDTO>> getAllDivisions(){
+    public ResponseEntity<List<DivisionDTO>> getAllDivisions(WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.DISTRICTS, DataAggregate.DIVISIONS))
+            return null;
+
         List<DivisionDTO> divisionDTOS = divisionService.getAllDivisions();
         return new ResponseEntity<>(divisionDTOS,HttpStatus.OK);
     }
@@ -32,7 +41,10 @@ public class DivisionController {
                                                               @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
                                                               @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
                                                               @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_DIVISIONS_BY, required = false) String sortBy,
-                                                              @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
+                                                              @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+                                                              WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.DISTRICTS, DataAggregate.DIVISIONS))
+            return null;
 
         DivisionResponse divisionResponse = divisionService.searchDivisionByIdOrDivisionName(input, pageNumber, pageSize, sortBy, sortOrder);
         return new ResponseEntity<>(divisionResponse, HttpStatus.FOUND);
@@ -74,13 +86,20 @@ public class DivisionController {
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_DIVISIONS_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.DISTRICTS, DataAggregate.DIVISIONS))
+            return null;
+
         DivisionResponse divisionResponse = divisionService.getAllDivisionsWithPagination(pageNumber, pageSize, sortBy, sortOrder);
         return new ResponseEntity<>(divisionResponse, HttpStatus.OK);
     }
 
     @GetMapping("/public/division/{districtId}")
-    public ResponseEntity<List<DivisionDTO>> getAllDivisionsByDistrict(@PathVariable Long districtId){
+    public ResponseEntity<List<DivisionDTO>> getAllDivisionsByDistrict(@PathVariable Long districtId, WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.DISTRICTS, DataAggregate.DIVISIONS))
+            return null;
+
         List<DivisionDTO> divisionDTOS = divisionService.getAllDivisionsByDistrict(districtId);
         return new ResponseEntity<>(divisionDTOS,HttpStatus.OK);
     }
@@ -1,15 +1,28 @@
 package com.outbreak.backend.controller;
 
 import com.outbreak.backend.config.AppConstants;
+import com.outbreak.backend.exceptions.APIException;
 import com.outbreak.backend.payload.*;
+import com.outbreak.backend.service.DataVersionTracker;
+import com.outbreak.backend.service.DataVersionTracker.DataAggregate;
+import com.outbreak.backend.service.DatasetExportService;
+import com.outbreak.backend.service.DatasetImportService;
 import com.outbreak.backend.service.GraphDataService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,14 +32,53 @@ public class GraphDataController {
     @Autowired
     GraphDataService graphDataService;
 
+    @Autowired
+    DataVersionTracker dataVersionTracker;
+
+    @Autowired
+    DatasetImportService datasetImportService;
+
+    @Autowired
+    DatasetExportService datasetExportService;
+
     @GetMapping("/public/graph")
-    public ResponseEntity<List<GraphDataDTO>> getAllGraphData(){
+    public ResponseEntity<List<GraphDataDTO>> getAllGraphData(WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.GRAPH_DATA, DataAggregate.DISTRICTS))
+            return null;
+
         List<GraphDataDTO> graphDataDTOS = graphDataService.getAllGraphData();
         return new ResponseEntity<>(graphDataDTOS, HttpStatus.OK);
     }
 
+    // Streams rows from a database cursor, so memory use does not grow with the table
+    @GetMapping("/public/graph/export")
+    public ResponseEntity<StreamingResponseBody> exportGraphData(
+            @RequestParam(name = "format", defaultValue = "csv", required = false) String format,
+            @RequestParam(name = "year", required = false) Integer year,
+            @RequestParam(name = "districtId", required = false) Long districtId,
+            @RequestParam(name = "fromWeek", required = false) Integer fromWeek,
+            @RequestParam(name = "toWeek", required = false) Integer toWeek,
+            WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.GRAPH_DATA, DataAggregate.DISTRICTS))
+            return null;
+
+        DatasetExportFormat exportFormat = DatasetExportFormat.fromParam(format);
+        if (fromWeek != null && toWeek != null && fromWeek > toWeek)
+            throw new APIException("fromWeek must not be after toWeek");
+
+        StreamingResponseBody body = outputStream ->
+                datasetExportService.exportDataset(outputStream, exportFormat, year, districtId, fromWeek, toWeek);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType() + ";charset=UTF-8")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"graph-data." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/public/graph/value/{input}")
-    public ResponseEntity<List<GraphDataDTO>> getGraphDataByDistrictNameOrId(@PathVariable String input){
+    public ResponseEntity<List<GraphDataDTO>> getGraphDataByDistrictNameOrId(@PathVariable String input, WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.GRAPH_DATA, DataAggregate.DISTRICTS))
+            return null;
 
         List<GraphDataDTO> graphDataDTOS = graphDataService.searchGraphDataByIdOrDistrictName(input);
         return new ResponseEntity<>(graphDataDTOS, HttpStatus.FOUND);
@@ -64,25 +116,64 @@ public class GraphDataController {
     }
 
     @GetMapping("/public/graph/monthly")
-    public ResponseEntity<List<MonthlyCaseGraphResponse>> getGraphDataForLatestYear(){
+    public ResponseEntity<List<MonthlyCaseGraphResponse>> getGraphDataForLatestYear(WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.GRAPH_DATA, DataAggregate.DISTRICTS))
+            return null;
+
         List<MonthlyCaseGraphResponse> monthlyCaseGraphResponses = graphDataService.getMonthlyCasesForLatestYear();
         return new ResponseEntity<>(monthlyCaseGraphResponses, HttpStatus.OK);
     }
 
+    // The four dashboard charts in one response, computed from a single read of the time-series store
+    @GetMapping("/public/graph/dashboard")
+    public ResponseEntity<DashboardResponse> getDashboard(WebRequest webRequest) {
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.GRAPH_DATA, DataAggregate.DISTRICTS))
+            return null;
+
+        DashboardResponse dashboardResponse = graphDataService.getDashboard();
+        return new ResponseEntity<>(dashboardResponse, HttpStatus.OK);
+    }
+
+    // Case totals for one district (or all) over any range, bucketed by week, month, quarter or year
+    @GetMapping("/public/graph/series")
+    public ResponseEntity<CaseSeriesResponse> getCaseSeries(
+            @RequestParam(name = "districtId", required = false) Long districtId,
+            @RequestParam(name = "granularity", defaultValue = "week", required = false) String granularity,
+            @RequestParam(name = "fromYear", required = false) Integer fromYear,
+            @RequestParam(name = "fromPeriod", required = false) Integer fromPeriod,
+            @RequestParam(name = "toYear", required = false) Integer toYear,
+            @RequestParam(name = "toPeriod", required = false) Integer toPeriod,
+            WebRequest webRequest) {
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.GRAPH_DATA, DataAggregate.DISTRICTS))
+            return null;
+
+        CaseSeriesResponse caseSeriesResponse = graphDataService.getCaseSeries(districtId, granularity, fromYear, fromPeriod, toYear, toPeriod);
+        return new ResponseEntity<>(caseSeriesResponse, HttpStatus.OK);
+    }
+
     @GetMapping("/public/graph/district")
-    public ResponseEntity<List<DistrictTotalCasesResponse>> getDistrictTotalCasesForLatestYear() {
+    public ResponseEntity<List<DistrictTotalCasesResponse>> getDistrictTotalCasesForLatestYear(WebRequest webRequest) {
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.GRAPH_DATA, DataAggregate.DISTRICTS))
+            return null;
+
         List<DistrictTotalCasesResponse> districtTotalCasesResponses = graphDataService.getDistrictTotalCasesForLatestYear();
         return new ResponseEntity<>(districtTotalCasesResponses, HttpStatus.OK);
     }
 
     @GetMapping("/public/graph/week")
-    public ResponseEntity<List<WeeklyCasesResponse>> getWeeklyCasesForLatestYear() {
+    public ResponseEntity<List<WeeklyCasesResponse>> getWeeklyCasesForLatestYear(WebRequest webRequest) {
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.GRAPH_DATA, DataAggregate.DISTRICTS))
+            return null;
+
         List<WeeklyCasesResponse> weeklyCasesResponses = graphDataService.getWeeklyCasesForLatestYear();
         return new ResponseEntity<>(weeklyCasesResponses, HttpStatus.OK);
     }
 
     @GetMapping("/public/graph/year")
-    public ResponseEntity<List<YearlyCasesResponse>> getYearlyCases() {
+    public ResponseEntity<List<YearlyCasesResponse>> getYearlyCases(WebRequest webRequest) {
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.GRAPH_DATA, DataAggregate.DISTRICTS))
+            return null;
+
         List<YearlyCasesResponse> yearlyCasesResponses = graphDataService.getYearlyCases();
         return new ResponseEntity<>(yearlyCasesResponses, HttpStatus.OK);
     }
@@ -119,8 +210,13 @@ public class GraphDataController {
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_DATASET_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
-        DatasetResponse datasetResponse = graphDataService.getAllData(pageNumber, pageSize, sortBy, sortOrder);
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.GRAPH_DATA, DataAggregate.DISTRICTS))
+            return null;
+
+        DatasetResponse datasetResponse = graphDataService.getAllData(pageNumber, pageSize, sortBy, sortOrder, cursor);
         return new ResponseEntity<>(datasetResponse, HttpStatus.OK);
     }
 
@@ -130,9 +226,34 @@ public class GraphDataController {
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_DATASET_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            WebRequest webRequest){
+        if (dataVersionTracker.checkNotModified(webRequest, DataAggregate.GRAPH_DATA, DataAggregate.DISTRICTS))
+            return null;
+
         DatasetResponse datasetResponse = graphDataService.searchDataByDistrictNameOrCaseYear(input, pageNumber, pageSize, sortBy, sortOrder);
         return new ResponseEntity<>(datasetResponse, HttpStatus.OK);
     }
 
+    @PostMapping(value = "/admin/dataset/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<DatasetImportResponse> importDataset(@RequestParam("file") MultipartFile file) throws IOException {
+
+        try (InputStream inputStream = file.getInputStream()) {
+            DatasetImportResponse datasetImportResponse = datasetImportService.importDataset(inputStream);
+            return new ResponseEntity<>(datasetImportResponse, HttpStatus.CREATED);
+        }
+
+    }
+
+    // Raw CSV body, read straight from the request without multipart spooling or size limits
+    @PostMapping(value = "/admin/dataset/import", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<DatasetImportResponse> importDatasetStream(HttpServletRequest request) throws IOException {
+
+        DatasetImportResponse datasetImportResponse = datasetImportService.importDataset(request.getInputStream());
+        return new ResponseEntity<>(datasetImportResponse, HttpStatus.CREATED);
+
+    }
+
 }
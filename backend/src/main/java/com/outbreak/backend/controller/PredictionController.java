@@ -1,7 +1,10 @@
 package com.outbreak.backend.controller;
 
+import com.outbreak.backend.payload.BacktestResponse;
+import com.outbreak.backend.payload.BatchPredictionResponse;
 import com.outbreak.backend.payload.PredictionResponseDTO;
 import com.outbreak.backend.payload.WeatherDataDTO;
+import com.outbreak.backend.service.BacktestService;
 import com.outbreak.backend.service.PredictionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +21,9 @@ public class PredictionController {
     @Autowired
     PredictionService predictionService;
 
+    @Autowired
+    BacktestService backtestService;
+
     @PostMapping("/admin/prediction/{districtId}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<WeatherDataDTO> saveWeatherFactors(@Valid @RequestBody WeatherDataDTO weatherFactorsDTO, @PathVariable Long districtId){
@@ -27,6 +33,28 @@ public class PredictionController {
 
     }
 
+    @GetMapping("/admin/prediction/batch")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<BatchPredictionResponse> batchPrediction(
+            @RequestParam(name = "year", required = false) Integer year,
+            @RequestParam(name = "week", required = false) Integer week){
+
+        BatchPredictionResponse batchPredictionResponse = predictionService.getBatchPrediction(year, week);
+        return new ResponseEntity<>(batchPredictionResponse, HttpStatus.OK);
+
+    }
+
+    @GetMapping("/admin/prediction/backtest")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<BacktestResponse> backtest(
+            @RequestParam(name = "modelVersion", required = false) String modelVersion,
+            @RequestParam(name = "refresh", defaultValue = "false") boolean refresh){
+
+        BacktestResponse backtestResponse = backtestService.getBacktest(modelVersion, refresh);
+        return new ResponseEntity<>(backtestResponse, HttpStatus.OK);
+
+    }
+
     @GetMapping("/public/prediction/system")
     public ResponseEntity<PredictionResponseDTO> systemAutoPrediction(){
 
@@ -0,0 +1,89 @@
+package com.outbreak.backend.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.outbreak.backend.config.CacheConfig;
+import com.outbreak.backend.payload.CacheStatsDTO;
+import com.outbreak.backend.payload.PredictionStatsDTO;
+import com.outbreak.backend.service.GraphDataCacheEvictor;
+import com.outbreak.backend.service.PredictionCache;
+import com.outbreak.backend.service.PredictionClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+public class StatsController {
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    GraphDataCacheEvictor graphDataCacheEvictor;
+
+    @Autowired
+    PredictionCache predictionCache;
+
+    @Autowired
+    PredictionClient predictionClient;
+
+    @GetMapping("/admin/stats/cache")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats(){
+        List<CacheStatsDTO> cacheStats = new ArrayList<>();
+
+        for (String cacheName : CacheConfig.GRAPH_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (!(cache instanceof CaffeineCache caffeineCache))
+                continue;
+
+            CacheStats stats = caffeineCache.getNativeCache().stats();
+            cacheStats.add(new CacheStatsDTO(
+                    cacheName,
+                    caffeineCache.getNativeCache().estimatedSize(),
+                    stats.hitCount(),
+                    stats.missCount(),
+                    stats.hitRate(),
+                    stats.evictionCount(),
+                    graphDataCacheEvictor.getInvalidations()
+            ));
+        }
+
+        CacheStats predictionStats = predictionCache.stats();
+        cacheStats.add(new CacheStatsDTO(
+                PredictionCache.CACHE_NAME,
+                predictionCache.estimatedSize(),
+                predictionStats.hitCount(),
+                predictionStats.missCount(),
+                predictionStats.hitRate(),
+                predictionStats.evictionCount(),
+                predictionCache.getInvalidations()
+        ));
+
+        return new ResponseEntity<>(cacheStats, HttpStatus.OK);
+    }
+
+    @GetMapping("/admin/stats/prediction")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<PredictionStatsDTO> getPredictionStats(){
+        CacheStats stats = predictionCache.stats();
+        PredictionStatsDTO predictionStats = new PredictionStatsDTO(
+                stats.hitCount(),
+                predictionCache.getModelCalls(),
+                predictionCache.getCoalescedCalls(),
+                predictionCache.getInFlight(),
+                predictionClient.getCircuitState().name()
+        );
+        return new ResponseEntity<>(predictionStats, HttpStatus.OK);
+    }
+}
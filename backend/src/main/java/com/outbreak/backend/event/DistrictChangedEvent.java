@@ -0,0 +1,38 @@
+package com.outbreak.backend.event;
+
+import lombok.Getter;
+
+@Getter
+public class DistrictChangedEvent {
+
+    public enum Change {
+        CREATED,
+        RENAMED,
+        DELETED
+    }
+
+    private final Long districtId;
+    private final Change change;
+
+    private DistrictChangedEvent(Long districtId, Change change) {
+        this.districtId = districtId;
+        this.change = change;
+    }
+
+    public static DistrictChangedEvent created(Long districtId) {
+        return new DistrictChangedEvent(districtId, Change.CREATED);
+    }
+
+    public static DistrictChangedEvent renamed(Long districtId) {
+        return new DistrictChangedEvent(districtId, Change.RENAMED);
+    }
+
+    public static DistrictChangedEvent deleted(Long districtId) {
+        return new DistrictChangedEvent(districtId, Change.DELETED);
+    }
+
+    // Renames and deletes change the district name copied into cached totals, predictions and principals
+    public boolean changesExistingDistrict() {
+        return change != Change.CREATED;
+    }
+}
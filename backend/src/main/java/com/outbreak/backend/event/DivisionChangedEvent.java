@@ -0,0 +1,43 @@
+package com.outbreak.backend.event;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class DivisionChangedEvent {
+
+    public enum Change {
+        CREATED,
+        RENAMED,
+        DELETED
+    }
+
+    private final Long divisionId;
+    private final Change change;
+    // Users that lost their division reference on delete; their tokens still carry the old division id
+    private final List<String> detachedUsernames;
+
+    private DivisionChangedEvent(Long divisionId, Change change, List<String> detachedUsernames) {
+        this.divisionId = divisionId;
+        this.change = change;
+        this.detachedUsernames = detachedUsernames;
+    }
+
+    public static DivisionChangedEvent created(Long divisionId) {
+        return new DivisionChangedEvent(divisionId, Change.CREATED, List.of());
+    }
+
+    public static DivisionChangedEvent renamed(Long divisionId) {
+        return new DivisionChangedEvent(divisionId, Change.RENAMED, List.of());
+    }
+
+    public static DivisionChangedEvent deleted(Long divisionId, List<String> detachedUsernames) {
+        return new DivisionChangedEvent(divisionId, Change.DELETED, List.copyOf(detachedUsernames));
+    }
+
+    // Renames and deletes change the division copied into cached principals
+    public boolean changesExistingDivision() {
+        return change != Change.CREATED;
+    }
+}
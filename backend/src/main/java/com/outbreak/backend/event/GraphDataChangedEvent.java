@@ -0,0 +1,37 @@
+package com.outbreak.backend.event;
+
+import com.outbreak.backend.payload.GraphDataDTO;
+import lombok.Getter;
+
+@Getter
+public class GraphDataChangedEvent {
+
+    // Row as it was before the change; null for inserts
+    private final GraphDataDTO previous;
+    // Row as it is after the change; null for deletes
+    private final GraphDataDTO current;
+    // Set when GraphData changed in bulk and listeners should reload instead of applying a delta
+    private final boolean reload;
+
+    private GraphDataChangedEvent(GraphDataDTO previous, GraphDataDTO current, boolean reload) {
+        this.previous = previous;
+        this.current = current;
+        this.reload = reload;
+    }
+
+    public static GraphDataChangedEvent created(GraphDataDTO current) {
+        return new GraphDataChangedEvent(null, current, false);
+    }
+
+    public static GraphDataChangedEvent updated(GraphDataDTO previous, GraphDataDTO current) {
+        return new GraphDataChangedEvent(previous, current, false);
+    }
+
+    public static GraphDataChangedEvent deleted(GraphDataDTO previous) {
+        return new GraphDataChangedEvent(previous, null, false);
+    }
+
+    public static GraphDataChangedEvent reloaded() {
+        return new GraphDataChangedEvent(null, null, true);
+    }
+}
@@ -0,0 +1,14 @@
+package com.outbreak.backend.event;
+
+import lombok.Getter;
+
+@Getter
+public class WeatherDataChangedEvent {
+
+    // District whose weather rows changed; null when rows were imported in bulk
+    private final Long districtId;
+
+    public WeatherDataChangedEvent(Long districtId) {
+        this.districtId = districtId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.outbreak.backend.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException{
+
+    private static final long serialVersionUID = 1L;
+
+    // Seconds a client should wait before retrying; sent as Retry-After
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,43 @@
+package com.outbreak.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Append-only history of served predictions, written in batches by PredictionHistoryRecorder
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "prediction_record",
+        indexes = @Index(name = "idx_prediction_record_district_model", columnList = "district_id, model_version"))
+public class PredictionRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long predictionRecordId;
+    // Plain ids rather than associations so history survives district and weather row deletes
+    @Column(name = "district_id")
+    private Long districtId;
+    private Integer predictYear;
+    private Integer predictMonth;
+    private Integer predictWeek;
+    private Integer avgMaxTemp;
+    private Integer avgMinTemp;
+    private Integer totalPrecipitation;
+    private Integer avgWindSpeed;
+    private Integer maxWindGusts;
+    private Integer weatherCode;
+    private Double predictedCases;
+    @Column(name = "model_version")
+    private String modelVersion;
+    private Long latencyMicros;
+    // Weeks between the week the prediction was served and the week it predicts
+    private Integer horizonWeeks;
+    private String source;
+    private LocalDateTime servedAt;
+
+}
@@ -0,0 +1,29 @@
+package com.outbreak.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "prediction_result",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"weather_data_id", "modelVersion"}))
+public class PredictionResult {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long predictionResultId;
+    private Double predictedCases;
+    private String modelVersion;
+    private LocalDateTime computedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "weather_data_id")
+    private WeatherData weatherData;
+
+}
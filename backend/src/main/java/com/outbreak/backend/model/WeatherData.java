@@ -8,7 +8,8 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @Table(name = "weather_data",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"predictMonth", "predictWeek", "predictYear"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"predictMonth", "predictWeek", "predictYear", "district_id"}),
+        indexes = @Index(name = "idx_weather_data_district_period", columnList = "district_id, predictYear, predictMonth, predictWeek"))
 public class WeatherData {
 
     @Id
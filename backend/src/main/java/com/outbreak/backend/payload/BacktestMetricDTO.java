@@ -0,0 +1,20 @@
+package com.outbreak.backend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestMetricDTO {
+    // Null for the all-district rows
+    private Long districtId;
+    private String districtName;
+    private Integer horizonWeeks;
+    private Long samples;
+    private Double mae;
+    private Double rmse;
+    // Mean of predicted minus actual; positive means the model over-predicts
+    private Double bias;
+}
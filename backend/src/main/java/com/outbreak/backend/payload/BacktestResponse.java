@@ -0,0 +1,21 @@
+package com.outbreak.backend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestResponse {
+    private String modelVersion;
+    private LocalDateTime computedAt;
+    private Integer districtsEvaluated;
+    private Long samples;
+    private List<BacktestMetricDTO> overall;
+    private List<BacktestMetricDTO> districts;
+    private Long elapsedMillis;
+}
@@ -0,0 +1,18 @@
+package com.outbreak.backend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPredictionResponse {
+    private List<DistrictPredictionDTO> content;
+    private Integer districtsPredicted;
+    private Integer districtsFailed;
+    private Integer districtsWithoutWeatherData;
+    private Long elapsedMillis;
+}
@@ -0,0 +1,18 @@
+package com.outbreak.backend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseSeriesPoint {
+    // e.g. 2020-W05, 2020-03, 2020-Q1 or 2020
+    private String label;
+    private Integer year;
+    private Integer period;
+    private Long numberOfCases;
+    // GraphData rows behind the bucket; 0 means no data rather than zero cases
+    private Long rowCount;
+}
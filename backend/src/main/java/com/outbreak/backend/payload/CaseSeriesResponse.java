@@ -0,0 +1,18 @@
+package com.outbreak.backend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaseSeriesResponse {
+    private Long districtId;
+    private String districtName;
+    private String granularity;
+    private List<CaseSeriesPoint> points;
+    private Long totalCases;
+}
@@ -0,0 +1,18 @@
+package com.outbreak.backend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResponse {
+    private Integer latestYear;
+    private List<MonthlyCaseGraphResponse> monthlyCases;
+    private List<DistrictTotalCasesResponse> districtTotalCases;
+    private List<WeeklyCasesResponse> weeklyCases;
+    private List<YearlyCasesResponse> yearlyCases;
+}
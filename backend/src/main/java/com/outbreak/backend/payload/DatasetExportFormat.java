@@ -0,0 +1,34 @@
+package com.outbreak.backend.payload;
+
+import com.outbreak.backend.exceptions.APIException;
+
+import java.util.Locale;
+
+public enum DatasetExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    DatasetExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static DatasetExportFormat fromParam(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new APIException("Unsupported export format: " + format + " (expected csv or ndjson)");
+        }
+    }
+}
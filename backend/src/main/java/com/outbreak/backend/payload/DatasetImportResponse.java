@@ -0,0 +1,22 @@
+package com.outbreak.backend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatasetImportResponse {
+    private Long linesRead;
+    private Long graphDataInserted;
+    private Long weatherDataInserted;
+    private Long graphDataDuplicates;
+    private Long weatherDataDuplicates;
+    private Long rejectedLines;
+    private List<String> rejectedSamples;
+    private Long elapsedMillis;
+    private Double rowsPerSecond;
+}
@@ -16,4 +16,6 @@ public class DatasetResponse {
     private Long totalElements;
     private Integer totalpages;
     private boolean lastPage;
+    // Only set in cursor mode, where totals are not counted
+    private String nextCursor;
 }
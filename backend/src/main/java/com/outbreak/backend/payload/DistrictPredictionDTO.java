@@ -0,0 +1,19 @@
+package com.outbreak.backend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistrictPredictionDTO {
+    private Long districtId;
+    private String districtName;
+    private Integer predictYear;
+    private Integer predictMonth;
+    private Integer predictWeek;
+    private Double predictedCases;
+    private String riskLevel;
+    private String error;
+}
@@ -1,5 +1,8 @@
 package com.outbreak.backend.payload;
 
+import com.outbreak.backend.util.CaseYears;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,6 +14,9 @@ public class GraphDataDTO {
     private Long graphDataId;
     private Integer numberOfCases;
     private Integer caseMonth;
+    // The upper bound (next year) moves with the clock and is checked in the service
+    @NotNull
+    @Min(value = CaseYears.MIN_YEAR, message = "caseYear must not be before " + CaseYears.MIN_YEAR)
     private Integer caseYear;
     private Integer caseWeek;
     private Long districtId;
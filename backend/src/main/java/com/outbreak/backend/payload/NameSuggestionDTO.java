@@ -0,0 +1,18 @@
+package com.outbreak.backend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NameSuggestionDTO {
+    // DISTRICT or DIVISION
+    private String type;
+    private Long id;
+    private String name;
+    private Long districtId;
+    private String districtName;
+    private Double score;
+}
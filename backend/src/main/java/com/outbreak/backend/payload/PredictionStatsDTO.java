@@ -0,0 +1,17 @@
+package com.outbreak.backend.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PredictionStatsDTO {
+    private Long cacheHits;
+    private Long modelCalls;
+    // Callers that joined another caller's in-flight model call instead of making their own
+    private Long coalescedCalls;
+    private Integer inFlight;
+    private String circuitState;
+}
@@ -4,9 +4,11 @@ import com.outbreak.backend.model.Alert;
 import com.outbreak.backend.model.District;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,6 +20,11 @@ public interface AlertRepository extends JpaRepository<Alert,Long> {
     // Search by District ID
     Page<Alert> findByDistrict_DistrictId(Long districtId, Pageable pageable);
 
-    // Search by District Name (Case Insensitive)
-    Page<Alert> findByDistrict_DistrictNameContainingIgnoreCase(String districtName, Pageable pageable);
+    // Search by district ids resolved from the name index
+    Page<Alert> findByDistrict_DistrictIdIn(Collection<Long> districtIds, Pageable pageable);
+
+    // Keyset pages without a count query
+    Slice<Alert> findByAlertIdGreaterThan(Long alertId, Pageable pageable);
+
+    Slice<Alert> findByAlertIdLessThan(Long alertId, Pageable pageable);
 }
@@ -3,6 +3,7 @@ package com.outbreak.backend.repositories;
 import com.outbreak.backend.model.Article;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +12,9 @@ public interface ArticleRepository extends JpaRepository<Article,Long> {
     // Search for keyword in both title and description (case-insensitive)
     Page<Article> findByTitleContainingIgnoreCaseOrDescriptionContainingIgnoreCase(
             String titleKeyword, String descriptionKeyword, Pageable pageable);
+
+    // Keyset pages without a count query
+    Slice<Article> findByArticleIdGreaterThan(Long articleId, Pageable pageable);
+
+    Slice<Article> findByArticleIdLessThan(Long articleId, Pageable pageable);
 }
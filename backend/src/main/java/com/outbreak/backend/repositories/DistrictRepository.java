@@ -6,13 +6,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+
 @Repository
 public interface DistrictRepository extends JpaRepository<District,Long> {
     boolean existsByDistrictName(String colombo);
 
     District findByDistrictName(String colombo);
 
-    Page<District> findByDistrictIdOrDistrictNameLikeIgnoreCase(Long districtId, String s, Pageable pageDetails);
-
-    Page<District> findByDistrictNameLikeIgnoreCase(String s, Pageable pageDetails);
+    Page<District> findByDistrictIdIn(Collection<Long> districtIds, Pageable pageDetails);
 }
@@ -5,8 +5,10 @@ import com.outbreak.backend.model.Division;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,9 +17,10 @@ public interface DivisionRepository extends JpaRepository<Division,Long> {
 
     Division findByDivisionName(String nugegoda);
 
-    Page<Division> findByDivisionIdOrDivisionNameLikeIgnoreCase(Long divisionId, String s, Pageable pageDetails);
+    Page<Division> findByDivisionIdIn(Collection<Long> divisionIds, Pageable pageDetails);
 
-    Page<Division> findByDivisionNameLikeIgnoreCase(String s, Pageable pageDetails);
+    @Query("SELECT d FROM Division d LEFT JOIN FETCH d.district")
+    List<Division> findAllWithDistrict();
 
     List<Division> findByDistrict(District district);
 }
@@ -4,49 +4,59 @@ import com.outbreak.backend.model.District;
 import com.outbreak.backend.model.GraphData;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface GraphDataRepository extends JpaRepository<GraphData,Long> {
     List<GraphData> findByDistrictDistrictId(Long districtId);
 
-    List<GraphData> findByDistrictDistrictNameLikeIgnoreCase(String s);
-
-    @Query("SELECT MAX(c.caseYear) FROM GraphData c")
-    Integer findMaxYear();
-
-    @Query("SELECT c.caseMonth, SUM(c.numberOfCases) FROM GraphData c WHERE c.caseYear = :latestYear GROUP BY c.caseMonth ORDER BY c.caseMonth")
-    List<Object[]> getMonthlyCasesSummary(@Param("latestYear") Integer latestYear);
+    // Keyset pages: a Slice reads pageSize + 1 rows and never issues a count query
+    Slice<GraphData> findByGraphDataIdGreaterThan(Long graphDataId, Pageable pageable);
 
-    // Get total cases for each district in the latest year
-    @Query("SELECT g.district.districtName, SUM(g.numberOfCases) " +
-            "FROM GraphData g WHERE g.caseYear = :latestYear " +
-            "GROUP BY g.district.districtName ORDER BY SUM(g.numberOfCases) DESC")
-    List<Object[]> getTotalCasesByDistrict(Integer latestYear);
-
-    @Query("SELECT g.caseWeek, SUM(g.numberOfCases) " +
-            "FROM GraphData g " +
-            "WHERE g.caseYear = :latestYear " +
-            "GROUP BY g.caseWeek " +
-            "ORDER BY g.caseWeek")
-    List<Object[]> getWeeklyCasesSummary(Integer latestYear);
-
-    @Query("SELECT g.caseYear, SUM(g.numberOfCases) " +
-            "FROM GraphData g " +
-            "GROUP BY g.caseYear " +
-            "ORDER BY g.caseYear")
-    List<Object[]> getYearlyCasesSummary();
+    Slice<GraphData> findByGraphDataIdLessThan(Long graphDataId, Pageable pageable);
 
     Page<GraphData> findByCaseYear(Long caseYear, Pageable pageDetails);
 
-    Page<GraphData> findByDistrict_DistrictNameContainingIgnoreCase(String input, Pageable pageDetails);
+    Page<GraphData> findByDistrict_DistrictIdIn(Collection<Long> districtIds, Pageable pageDetails);
 
     // Custom query to check if a record exists with the same district, caseYear, caseMonth, and caseWeek
     Optional<GraphData> findByDistrictAndCaseYearAndCaseMonthAndCaseWeek(District district, Integer caseYear, Integer caseMonth, Integer caseWeek);
+
+    @Query("SELECT g.graphDataId, d.districtId, g.caseYear, g.caseMonth, g.caseWeek, g.numberOfCases " +
+            "FROM GraphData g LEFT JOIN g.district d ORDER BY g.graphDataId")
+    List<Object[]> findAllForTimeSeries();
+
+    // Scalar rows read through a forward-only cursor; a fetch size of Integer.MIN_VALUE makes MySQL stream row by row
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT g.graphDataId, d.districtId, COALESCE(d.districtName, g.districtName), " +
+            "g.caseYear, g.caseMonth, g.caseWeek, g.numberOfCases " +
+            "FROM GraphData g LEFT JOIN g.district d " +
+            "WHERE (:year IS NULL OR g.caseYear = :year) " +
+            "AND (:districtId IS NULL OR d.districtId = :districtId) " +
+            "AND (:fromWeek IS NULL OR g.caseWeek >= :fromWeek) " +
+            "AND (:toWeek IS NULL OR g.caseWeek <= :toWeek) " +
+            "ORDER BY g.graphDataId")
+    Stream<Object[]> streamForExport(@Param("year") Integer year,
+                                     @Param("districtId") Long districtId,
+                                     @Param("fromWeek") Integer fromWeek,
+                                     @Param("toWeek") Integer toWeek);
 }
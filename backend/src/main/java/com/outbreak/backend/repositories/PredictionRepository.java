@@ -1,15 +1,20 @@
 package com.outbreak.backend.repositories;
 
-import com.outbreak.backend.model.District;
 import com.outbreak.backend.model.WeatherData;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface PredictionRepository extends JpaRepository<WeatherData, Long> {
-    @Query("SELECT w FROM WeatherData w WHERE w.district = :district ORDER BY w.predictYear DESC, w.predictMonth DESC, w.predictWeek DESC LIMIT 1")
-    Optional<WeatherData> findLatestWeatherDataByDistrict(District district);
+    @Query("SELECT w FROM WeatherData w JOIN FETCH w.district d WHERE NOT EXISTS (" +
+            "SELECT 1 FROM WeatherData n WHERE n.district = w.district AND (n.predictYear > w.predictYear " +
+            "OR (n.predictYear = w.predictYear AND n.predictMonth > w.predictMonth) " +
+            "OR (n.predictYear = w.predictYear AND n.predictMonth = w.predictMonth AND n.predictWeek > w.predictWeek)))")
+    List<WeatherData> findLatestWeatherDataForAllDistricts();
+
+    @Query("SELECT w FROM WeatherData w JOIN FETCH w.district d WHERE w.predictYear = :year AND w.predictWeek = :week")
+    List<WeatherData> findWeatherDataForWeek(Integer year, Integer week);
 }
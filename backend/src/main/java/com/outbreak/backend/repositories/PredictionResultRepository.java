@@ -0,0 +1,26 @@
+package com.outbreak.backend.repositories;
+
+import com.outbreak.backend.model.PredictionResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PredictionResultRepository extends JpaRepository<PredictionResult, Long> {
+
+    Optional<PredictionResult> findByWeatherData_WeatherDataIdAndModelVersion(Long weatherDataId, String modelVersion);
+
+    @Query("SELECT r.weatherData.weatherDataId FROM PredictionResult r WHERE r.modelVersion = :modelVersion AND r.weatherData.weatherDataId IN :weatherDataIds")
+    List<Long> findComputedWeatherDataIds(String modelVersion, Collection<Long> weatherDataIds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PredictionResult r WHERE r.weatherData IN (SELECT w FROM WeatherData w WHERE w.district.districtId = :districtId)")
+    int deleteByDistrictId(Long districtId);
+}
@@ -6,6 +6,7 @@ import com.outbreak.backend.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,6 +17,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUserName(String username);
 
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.division dv LEFT JOIN FETCH dv.district LEFT JOIN FETCH u.roles WHERE u.userName = :username")
+    Optional<User> findWithDivisionAndDistrictByUserName(String username);
+
     Boolean existsByUserName(String username);
 
     Boolean existsByEmail(String email);
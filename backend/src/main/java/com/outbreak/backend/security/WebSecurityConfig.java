@@ -7,6 +7,8 @@ import com.outbreak.backend.repositories.RoleRepository;
 import com.outbreak.backend.repositories.UserRepository;
 import com.outbreak.backend.security.jwt.AuthEntryPointJwt;
 import com.outbreak.backend.security.jwt.AuthTokenFilter;
+import com.outbreak.backend.security.services.PasswordHashingExecutor;
+import com.outbreak.backend.security.services.PooledPasswordEncoder;
 import com.outbreak.backend.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
@@ -41,6 +43,9 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
@@ -52,7 +57,8 @@ public class WebSecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        // Only the password check itself goes to the hashing pool; the user lookup stays on the caller
+        authProvider.setPasswordEncoder(new PooledPasswordEncoder(passwordEncoder(), passwordHashingExecutor));
 
         return authProvider;
     }
@@ -94,8 +100,13 @@ public class WebSecurityConfig {
                                 .requestMatchers("/api/public/graph/district").permitAll()
                                 .requestMatchers("/api/public/graph/week").permitAll()
                                 .requestMatchers("/api/public/graph/year").permitAll()
+                                .requestMatchers("/api/public/graph/dashboard").permitAll()
+                                .requestMatchers("/api/public/graph/series").permitAll()
                                 .requestMatchers("/api/public/division/{districtId}").permitAll()
                                 .requestMatchers("/api/public/district").permitAll()
+                                .requestMatchers("/api/public/district/autocomplete").permitAll()
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
                                 .anyRequest().authenticated()
                 );
 
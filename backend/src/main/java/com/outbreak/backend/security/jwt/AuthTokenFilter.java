@@ -1,6 +1,8 @@
 package com.outbreak.backend.security.jwt;
 
-import com.outbreak.backend.security.services.UserDetailsServiceImpl;
+import com.outbreak.backend.security.services.PrincipalCache;
+import com.outbreak.backend.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +10,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,6 +20,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class AuthTokenFilter extends OncePerRequestFilter {
@@ -23,7 +30,10 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
 
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
@@ -33,10 +43,22 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         logger.debug("AuthTokenFilter called for URI: {}", request.getRequestURI());
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            // One verification per request, and none while the token sits in the verified-token cache
+            Claims claims = jwtUtils.parseVerifiedClaims(jwt);
+            if (claims != null) {
+                String username = claims.getSubject();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // Trust the signed claims unless the user changed since the token was issued or it is past the trust window
+                UserDetailsImpl fromClaims = jwtUtils.getPrincipalFromClaims(claims);
+                UserDetails userDetails = fromClaims;
+                if (fromClaims == null || tokenRevocationRegistry.isStale(username, claims.getIssuedAt())) {
+                    UserDetailsImpl loaded = (UserDetailsImpl) principalCache.loadUserByUsername(username);
+                    // Replace the token only when its claims are wrong, and never past its original expiry
+                    if (!sameClaims(fromClaims, loaded) || tokenRevocationRegistry.isRevoked(username, claims.getIssuedAt()))
+                        response.addHeader(HttpHeaders.SET_COOKIE,
+                                jwtUtils.generateJwtCookie(loaded, claims.getExpiration()).toString());
+                    userDetails = loaded;
+                }
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails,
@@ -55,6 +77,20 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private static boolean sameClaims(UserDetailsImpl fromClaims, UserDetailsImpl loaded) {
+        return fromClaims != null
+                && Objects.equals(fromClaims.getId(), loaded.getId())
+                && Objects.equals(fromClaims.getDivisionId(), loaded.getDivisionId())
+                && Objects.equals(fromClaims.getDistrictId(), loaded.getDistrictId())
+                && roles(fromClaims).equals(roles(loaded));
+    }
+
+    private static Set<String> roles(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String jwt = jwtUtils.getJwtFromCookies(request);
         logger.debug("AuthTokenFilter.java: {}", jwt);
@@ -1,9 +1,13 @@
 package com.outbreak.backend.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.outbreak.backend.security.services.UserDetailsImpl;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -14,13 +18,23 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    private static final String CLAIM_USER_ID = "userId";
+    private static final String CLAIM_DIVISION_ID = "divisionId";
+    private static final String CLAIM_DISTRICT_ID = "districtId";
+    private static final String CLAIM_ROLES = "roles";
+
     @Value("${spring.app.jwtSecret}")
     private String jwtSecret;
 
@@ -30,6 +44,55 @@ public class JwtUtils {
     @Value("${spring.outbreak.app.jwtCookieName}")
     private String jwtCookie;
 
+    @Value("${outbreak.security.verifiedTokenCache.maximumSize:10000}")
+    private long verifiedTokenCacheSize;
+
+    // Upper bound on how long a verified token is reused; entries never outlive the token's own exp
+    @Value("${outbreak.security.verifiedTokenCache.ttl:PT5M}")
+    private Duration verifiedTokenCacheTtl;
+
+    // Built once; both are immutable and safe to share between request threads
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> verifiedTokens;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+                        long ttl = verifiedTokenCacheTtl.toNanos();
+                        if (claims.getExpiration() == null)
+                            return ttl;
+                        long untilExpiry = (claims.getExpiration().getTime() - System.currentTimeMillis()) * 1_000_000;
+                        return Math.max(0, Math.min(ttl, untilExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return expireAfterCreate(tokenHash, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     public String getJwtFromCookies(HttpServletRequest request) {
         Cookie cookie = WebUtils.getCookie(request, jwtCookie);
         if (cookie != null) {
@@ -41,13 +104,25 @@ public class JwtUtils {
     }
 
     public ResponseCookie generateJwtCookie(UserDetailsImpl userPrincipal) {
-        String jwt = generateTokenFromUsername(userPrincipal.getUsername());
+        String jwt = generateTokenFromUsername(userPrincipal);
         ResponseCookie cookie = ResponseCookie.from(jwtCookie, jwt).path("/api").maxAge(24 * 60 * 60)
                 .httpOnly(false)
                 .build();
         return cookie;
     }
 
+    // Replacement for a token whose claims went stale; keeps its expiry so re-issuing never extends a session
+    public ResponseCookie generateJwtCookie(UserDetailsImpl userPrincipal, Date expiration) {
+        if (expiration == null)
+            return generateJwtCookie(userPrincipal);
+        String jwt = generateTokenFromUsername(userPrincipal, expiration);
+        long maxAgeSeconds = Math.max(0, (expiration.getTime() - System.currentTimeMillis()) / 1000);
+        ResponseCookie cookie = ResponseCookie.from(jwtCookie, jwt).path("/api").maxAge(maxAgeSeconds)
+                .httpOnly(false)
+                .build();
+        return cookie;
+    }
+
     public ResponseCookie getCleanJwtCookie(){
         ResponseCookie cookie = ResponseCookie.from(jwtCookie, null)
                 .path("/api")
@@ -56,31 +131,49 @@ public class JwtUtils {
         return cookie;
     }
 
-    public String generateTokenFromUsername(String username) {
+    public String generateTokenFromUsername(UserDetailsImpl userPrincipal) {
+        return generateTokenFromUsername(userPrincipal, new Date((new Date()).getTime() + jwtExpirationMs));
+    }
+
+    public String generateTokenFromUsername(UserDetailsImpl userPrincipal, Date expiration) {
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(authority -> authority.getAuthority())
+                .toList();
+
         return Jwts.builder()
-                .subject(username)
+                .subject(userPrincipal.getUsername())
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_DIVISION_ID, userPrincipal.getDivisionId())
+                .claim(CLAIM_DISTRICT_ID, userPrincipal.getDistrictId())
+                .claim(CLAIM_ROLES, roles)
                 .issuedAt(new Date())
-                .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key())
+                .expiration(expiration)
+                .signWith(signingKey)
                 .compact();
     }
 
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) key())
-                .build().parseSignedClaims(token)
-                .getPayload().getSubject();
+        return getClaimsFromJwtToken(token).getSubject();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    public Claims getClaimsFromJwtToken(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
-    public boolean validateJwtToken(String authToken) {
+    // Verifies the token at most once while it is cached; null when the token is not valid
+    public Claims parseVerifiedClaims(String authToken) {
+        if (authToken == null || authToken.isEmpty())
+            return null;
+
+        String tokenHash = hash(authToken);
+        Claims cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null && (cached.getExpiration() == null || cached.getExpiration().after(new Date())))
+            return cached;
+
         try {
-            System.out.println("Validate");
-            Jwts.parser().verifyWith((SecretKey) key()).build().parseSignedClaims(authToken);
-            return true;
+            Claims claims = getClaimsFromJwtToken(authToken);
+            verifiedTokens.put(tokenHash, claims);
+            return claims;
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -89,7 +182,39 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("JWT signature is invalid: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    // The cache is keyed by a digest so raw bearer tokens are not kept in memory
+    private String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    // Null for tokens issued before the principal claims were added
+    public UserDetailsImpl getPrincipalFromClaims(Claims claims) {
+        Object userId = claims.get(CLAIM_USER_ID);
+        Object roles = claims.get(CLAIM_ROLES);
+        if (!(userId instanceof Number) || !(roles instanceof List<?> roleList))
+            return null;
+
+        return UserDetailsImpl.fromClaims(
+                ((Number) userId).longValue(),
+                claims.getSubject(),
+                longClaim(claims, CLAIM_DIVISION_ID),
+                longClaim(claims, CLAIM_DISTRICT_ID),
+                roleList.stream().map(String::valueOf).toList());
+    }
+
+    private Long longClaim(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return parseVerifiedClaims(authToken) != null;
     }
 }
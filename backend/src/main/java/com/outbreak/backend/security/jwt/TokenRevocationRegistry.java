@@ -0,0 +1,85 @@
+package com.outbreak.backend.security.jwt;
+
+import com.outbreak.backend.event.DistrictChangedEvent;
+import com.outbreak.backend.event.DivisionChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks when the claims carried in a user's token stopped being trustworthy. A token issued before
+ * its user's revocation time, or before this process started, is not trusted for its claims:
+ * AuthTokenFilter loads the user from the database instead and re-issues the cookie with the same expiry.
+ * <p>
+ * Revocations are process-local, so they take effect at once only on the instance that made the change.
+ * Claims are therefore trusted for at most claimsTrustWindow after iat on any instance; older tokens are
+ * re-checked against the database (through PrincipalCache) on each request, and only replaced when their
+ * claims no longer match. That bounds how long a deleted or re-assigned user keeps its old rights
+ * elsewhere to that window plus the principal cache TTL.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private final Map<String, Long> revokedAt = new ConcurrentHashMap<>();
+    // Revocations are kept in memory, so tokens from before a restart are re-checked once
+    private volatile long notBefore = System.currentTimeMillis();
+
+    @Value("${outbreak.security.claimsTrustWindow:PT5M}")
+    private Duration claimsTrustWindow;
+
+    public void revoke(String username) {
+        if (username == null)
+            return;
+        long trustedSince = trustedSince();
+        revokedAt.values().removeIf(at -> at < trustedSince);
+        revokedAt.put(username, System.currentTimeMillis());
+    }
+
+    public void revokeAll() {
+        notBefore = System.currentTimeMillis();
+        revokedAt.clear();
+    }
+
+    // Tokens carry the district id of their division
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDistrictChanged(DistrictChangedEvent event) {
+        if (event.getChange() == DistrictChangedEvent.Change.DELETED)
+            revokeAll();
+    }
+
+    // Tokens of users detached from a deleted division still carry its id
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDivisionChanged(DivisionChangedEvent event) {
+        event.getDetachedUsernames().forEach(this::revoke);
+    }
+
+    // True when the token's claims must be re-checked against the database before they are used
+    public boolean isStale(String username, Date issuedAt) {
+        return isRevoked(username, issuedAt) || issuedAt.getTime() < trustedSince();
+    }
+
+    // True when the user changed after the token was issued, on this instance; the token should be replaced
+    public boolean isRevoked(String username, Date issuedAt) {
+        if (issuedAt == null)
+            return true;
+        // iat is truncated to seconds, so a token issued in the same second as a revocation counts as stale
+        long issued = issuedAt.getTime();
+        if (issued < notBefore)
+            return true;
+        Long userRevokedAt = revokedAt.get(username);
+        return userRevokedAt != null && issued < userRevokedAt;
+    }
+
+    // Tokens issued before this are re-checked anyway, so older revocations no longer need to be kept
+    private long trustedSince() {
+        return System.currentTimeMillis() - claimsTrustWindow.toMillis();
+    }
+}
@@ -0,0 +1,96 @@
+package com.outbreak.backend.security.services;
+
+import com.outbreak.backend.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification off the Tomcat request threads on a small fixed pool with a
+ * bounded queue. When the queue is full the caller gets a 503 with Retry-After straight away, so a
+ * burst of sign-ins cannot take every request thread away from the read endpoints. Tasks are single
+ * PasswordEncoder calls only; user lookups and JWT signing run elsewhere, so queueing reflects hashing load.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    // 0 means one thread per CPU; BCrypt is CPU-bound, so more threads than cores only adds queueing
+    @Value("${outbreak.auth.hashing.threads:0}")
+    private int threads;
+    @Value("${outbreak.auth.hashing.queueCapacity:64}")
+    private int queueCapacity;
+    @Value("${outbreak.auth.hashing.retryAfterSeconds:1}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("outbreak.auth.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("outbreak.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks running")
+                .register(meterRegistry);
+        rejected = Counter.builder("outbreak.auth.hashing.rejected")
+                .description("Sign-in and sign-up requests turned away because the hashing queue was full")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // operation tags the metrics, e.g. "verify" or "encode"
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                Timer.builder("outbreak.auth.hashing.wait")
+                        .tag("operation", operation)
+                        .register(meterRegistry)
+                        .record(Duration.ofNanos(startedAt - queuedAt));
+                try {
+                    return task.get();
+                } finally {
+                    Timer.builder("outbreak.auth.hashing")
+                            .description("Time spent in one PasswordEncoder encode or matches call")
+                            .tag("operation", operation)
+                            .publishPercentiles(0.5, 0.95, 0.99)
+                            .register(meterRegistry)
+                            .record(Duration.ofNanos(System.nanoTime() - startedAt));
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many sign-in requests, please retry shortly", retryAfterSeconds);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.outbreak.backend.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.outbreak.backend.event.DistrictChangedEvent;
+import com.outbreak.backend.event.DivisionChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Short-lived cache of authenticated principals by username, so AuthTokenFilter does not load the user
+ * and its roles on every request. User writes evict their entry; division and district changes, which
+ * are copied into every principal of the division, clear the whole cache.
+ */
+@Component
+public class PrincipalCache {
+
+    @Autowired
+    UserDetailsServiceImpl userDetailsService;
+
+    @Value("${outbreak.security.principalCache.maximumSize:10000}")
+    private long maximumSize;
+    @Value("${outbreak.security.principalCache.ttl:PT60S}")
+    private Duration ttl;
+
+    private Cache<String, UserDetails> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // Unknown users throw UsernameNotFoundException and are not cached
+    public UserDetails loadUserByUsername(String username) {
+        return cache.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    public void evict(String username) {
+        if (username != null)
+            cache.invalidate(username);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    // Principals carry a copy of their division and its district
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDistrictChanged(DistrictChangedEvent event) {
+        if (event.changesExistingDistrict())
+            evictAll();
+    }
+
+    // Principals carry a copy of their division
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDivisionChanged(DivisionChangedEvent event) {
+        if (event.changesExistingDivision())
+            evictAll();
+    }
+}
@@ -34,6 +34,11 @@ public class UserDetailsImpl implements UserDetails {
 
     private Division division;
 
+    // Carried as token claims so district-scoped endpoints need no user lookup
+    private Long divisionId;
+
+    private Long districtId;
+
     private Collection<? extends GrantedAuthority> authorities;
 
     public UserDetailsImpl(Long id, String username, String email, String firstName, String lastName, String password, Division division, Collection<? extends GrantedAuthority> authorities) {
@@ -52,7 +57,7 @@ public class UserDetailsImpl implements UserDetails {
                 .map(role -> new SimpleGrantedAuthority(role.getRoleName().name()))
                 .collect(Collectors.toList());
 
-        return new UserDetailsImpl(
+        UserDetailsImpl userDetails = new UserDetailsImpl(
                 user.getUserId(),
                 user.getUserName(),
                 user.getEmail(),
@@ -61,6 +66,26 @@ public class UserDetailsImpl implements UserDetails {
                 user.getPassword(),
                 user.getDivision(),
                 authorities);
+
+        Division division = user.getDivision();
+        if (division != null) {
+            userDetails.setDivisionId(division.getDivisionId());
+            if (division.getDistrict() != null)
+                userDetails.setDistrictId(division.getDistrict().getDistrictId());
+        }
+        return userDetails;
+    }
+
+    // Principal rebuilt from verified token claims; profile fields and password are not carried
+    public static UserDetailsImpl fromClaims(Long id, String username, Long divisionId, Long districtId, List<String> roles) {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+
+        UserDetailsImpl userDetails = new UserDetailsImpl(id, username, null, null, null, null, null, authorities);
+        userDetails.setDivisionId(divisionId);
+        userDetails.setDistrictId(districtId);
+        return userDetails;
     }
 
     @Override
@@ -8,7 +8,7 @@ public interface AlertService {
 
     AlertDTO deleteAlert(Long alertId);
 
-    AlertResponse getAllAlert(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    AlertResponse getAllAlert(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String cursor);
 
     AlertDTO updateAlert(AlertDTO alertDTO, Long alertId);
 
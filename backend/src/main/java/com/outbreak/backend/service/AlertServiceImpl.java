@@ -1,5 +1,6 @@
 package com.outbreak.backend.service;
 
+import com.outbreak.backend.config.AppConstants;
 import com.outbreak.backend.exceptions.APIException;
 import com.outbreak.backend.exceptions.ResourceNotFoundException;
 import com.outbreak.backend.model.Alert;
@@ -8,16 +9,20 @@ import com.outbreak.backend.payload.AlertDTO;
 import com.outbreak.backend.payload.AlertResponse;
 import com.outbreak.backend.repositories.AlertRepository;
 import com.outbreak.backend.repositories.DistrictRepository;
+import com.outbreak.backend.service.DataVersionTracker.DataAggregate;
 import com.outbreak.backend.util.AuthUtil;
+import com.outbreak.backend.util.KeysetCursor;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class AlertServiceImpl implements AlertService {
@@ -29,7 +34,11 @@ public class AlertServiceImpl implements AlertService {
     @Autowired
     AlertRepository alertRepository;
     @Autowired
+    NameSearchIndex nameSearchIndex;
+    @Autowired
     AuthUtil authUtil;
+    @Autowired
+    DataVersionTracker dataVersionTracker;
 
     @Override
     public AlertDTO createAlert(AlertDTO alertDTO, Long districtId) {
@@ -39,6 +48,7 @@ public class AlertServiceImpl implements AlertService {
         Alert alert = modelMapper.map(alertDTO, Alert.class);
         alert.setDistrict(district);
         alertRepository.save(alert);
+        dataVersionTracker.bump(DataAggregate.ALERTS);
         return modelMapper.map(alert, AlertDTO.class);
     }
 
@@ -48,11 +58,15 @@ public class AlertServiceImpl implements AlertService {
                 .orElseThrow(() -> new ResourceNotFoundException("Alert", "alertId", alertId));
 
         alertRepository.delete(alert);
+        dataVersionTracker.bump(DataAggregate.ALERTS);
         return modelMapper.map(alert, AlertDTO.class);
     }
 
     @Override
-    public AlertResponse getAllAlert(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+    public AlertResponse getAllAlert(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String cursor) {
+        if (cursor != null)
+            return getAllAlertByCursor(cursor, pageSize, sortBy, sortOrder);
+
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
@@ -78,6 +92,38 @@ public class AlertServiceImpl implements AlertService {
         return alertResponse;
     }
 
+    private AlertResponse getAllAlertByCursor(String cursor, Integer pageSize, String sortBy, String sortOrder) {
+        if (!AppConstants.SORT_ALERTS_BY.equals(sortBy))
+            throw new APIException("Cursor pagination is only supported when sorting by " + AppConstants.SORT_ALERTS_BY);
+
+        boolean ascending = sortOrder.equalsIgnoreCase("asc");
+        Long lastId = KeysetCursor.decode(cursor, ascending);
+        Sort sortByAndOrder = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+
+        Pageable pageDetails = PageRequest.of(0, pageSize, sortByAndOrder);
+        Slice<Alert> alertSlice = ascending
+                ? alertRepository.findByAlertIdGreaterThan(lastId == null ? 0L : lastId, pageDetails)
+                : alertRepository.findByAlertIdLessThan(lastId == null ? Long.MAX_VALUE : lastId, pageDetails);
+
+        List<Alert> alertList = alertSlice.getContent();
+
+        if(alertList.isEmpty() && lastId == null)
+            throw new APIException("Alerts not exists");
+
+        List<AlertDTO> alertDTOS = alertList.stream()
+                .map(alert -> modelMapper.map(alert, AlertDTO.class))
+                .toList();
+
+        AlertResponse alertResponse = new AlertResponse();
+        alertResponse.setContent(alertDTOS);
+        alertResponse.setPageSize(alertSlice.getSize());
+        alertResponse.setLastPage(!alertSlice.hasNext());
+        if (alertSlice.hasNext())
+            alertResponse.setNextCursor(KeysetCursor.encode(alertList.get(alertList.size() - 1).getAlertId(), ascending));
+
+        return alertResponse;
+    }
+
     @Override
     public AlertDTO updateAlert(AlertDTO alertDTO, Long alertId) {
         Alert alertFromDB = alertRepository.findById(alertId)
@@ -90,18 +136,19 @@ public class AlertServiceImpl implements AlertService {
         alert.setAlertId(alertId);
         alert.setDistrict(district);
         alertFromDB = alertRepository.save(alert);
+        dataVersionTracker.bump(DataAggregate.ALERTS);
         return modelMapper.map(alertFromDB, AlertDTO.class);
 
     }
 
     @Override
     public AlertResponse getDistrictAlerts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
-        District district = authUtil.loggedInDistrict();
+        Long districtId = authUtil.loggedInDistrictId();
 
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Alert> alertPage = alertRepository.findByDistrict(district, pageDetails);
+        Page<Alert> alertPage = alertRepository.findByDistrict_DistrictId(districtId, pageDetails);
 
         List<Alert> alerts = alertPage.getContent();
 
@@ -140,7 +187,10 @@ public class AlertServiceImpl implements AlertService {
             alertPage = alertRepository.findByDistrict_DistrictId(districtId, pageDetails);
         } catch (NumberFormatException e) {
             // If not numeric, treat it as an alert name search
-            alertPage = alertRepository.findByDistrict_DistrictNameContainingIgnoreCase(input, pageDetails);
+            Set<Long> districtIds = nameSearchIndex.districtIdsMatching(input);
+            alertPage = districtIds.isEmpty()
+                    ? Page.empty(pageDetails)
+                    : alertRepository.findByDistrict_DistrictIdIn(districtIds, pageDetails);
         }
 
         List<Alert> alerts = alertPage.getContent();
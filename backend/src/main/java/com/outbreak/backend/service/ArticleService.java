@@ -13,7 +13,7 @@ public interface ArticleService {
 
     ArticleDTO deleteArticle(Long articleId);
 
-    ArticleResponse getAllArticles(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    ArticleResponse getAllArticles(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String cursor);
 
     ArticleResponse searchArticleByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 }
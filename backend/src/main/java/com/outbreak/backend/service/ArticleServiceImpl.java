@@ -1,17 +1,21 @@
 package com.outbreak.backend.service;
 
+import com.outbreak.backend.config.AppConstants;
 import com.outbreak.backend.exceptions.APIException;
 import com.outbreak.backend.exceptions.ResourceNotFoundException;
 import com.outbreak.backend.model.Article;
 import com.outbreak.backend.payload.ArticleDTO;
 import com.outbreak.backend.payload.ArticleResponse;
 import com.outbreak.backend.repositories.ArticleRepository;
+import com.outbreak.backend.service.DataVersionTracker.DataAggregate;
+import com.outbreak.backend.util.KeysetCursor;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -29,6 +33,8 @@ public class ArticleServiceImpl implements ArticleService{
     @Autowired
     FileService fileService;
     @Autowired
+    DataVersionTracker dataVersionTracker;
+    @Autowired
     ModelMapper modelMapper;
 
     @Override
@@ -42,6 +48,7 @@ public class ArticleServiceImpl implements ArticleService{
             article.setImage(fileName);
         }
         Article savedArticle = articleRepository.save(article);
+        dataVersionTracker.bump(DataAggregate.ARTICLES);
         return modelMapper.map(savedArticle, ArticleDTO.class);
     }
 
@@ -60,6 +67,7 @@ public class ArticleServiceImpl implements ArticleService{
 
         //SAVE UPDATED PRODUCT
         Article updateArticle = articleRepository.save(articleFromDB);
+        dataVersionTracker.bump(DataAggregate.ARTICLES);
 
         //RETURN DTO AFTER MAPPING PRODUCT TO DTO
         return modelMapper.map(updateArticle, ArticleDTO.class);
@@ -71,12 +79,16 @@ public class ArticleServiceImpl implements ArticleService{
                 .orElseThrow(() -> new ResourceNotFoundException("Article", "articleId", articleId));
 
         articleRepository.delete(article);
+        dataVersionTracker.bump(DataAggregate.ARTICLES);
 
         return modelMapper.map(article, ArticleDTO.class);
     }
 
     @Override
-    public ArticleResponse getAllArticles(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+    public ArticleResponse getAllArticles(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String cursor) {
+        if (cursor != null)
+            return getAllArticlesByCursor(cursor, pageSize, sortBy, sortOrder);
+
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
@@ -102,6 +114,38 @@ public class ArticleServiceImpl implements ArticleService{
         return articleResponse;
     }
 
+    private ArticleResponse getAllArticlesByCursor(String cursor, Integer pageSize, String sortBy, String sortOrder) {
+        if (!AppConstants.SORT_ARTICLES_BY.equals(sortBy))
+            throw new APIException("Cursor pagination is only supported when sorting by " + AppConstants.SORT_ARTICLES_BY);
+
+        boolean ascending = sortOrder.equalsIgnoreCase("asc");
+        Long lastId = KeysetCursor.decode(cursor, ascending);
+        Sort sortByAndOrder = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+
+        Pageable pageDetails = PageRequest.of(0, pageSize, sortByAndOrder);
+        Slice<Article> articleSlice = ascending
+                ? articleRepository.findByArticleIdGreaterThan(lastId == null ? 0L : lastId, pageDetails)
+                : articleRepository.findByArticleIdLessThan(lastId == null ? Long.MAX_VALUE : lastId, pageDetails);
+
+        List<Article> articleList = articleSlice.getContent();
+
+        if(articleList.isEmpty() && lastId == null)
+            throw new APIException("Articles not exists");
+
+        List<ArticleDTO> articleDTOS = articleList.stream()
+                .map(article -> modelMapper.map(article, ArticleDTO.class))
+                .toList();
+
+        ArticleResponse articleResponse = new ArticleResponse();
+        articleResponse.setContent(articleDTOS);
+        articleResponse.setPageSize(articleSlice.getSize());
+        articleResponse.setLastPage(!articleSlice.hasNext());
+        if (articleSlice.hasNext())
+            articleResponse.setNextCursor(KeysetCursor.encode(articleList.get(articleList.size() - 1).getArticleId(), ascending));
+
+        return articleResponse;
+    }
+
     @Override
     public ArticleResponse searchArticleByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
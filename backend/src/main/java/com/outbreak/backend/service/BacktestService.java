@@ -0,0 +1,9 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.payload.BacktestResponse;
+
+public interface BacktestService {
+    BacktestResponse getBacktest(String modelVersion, boolean refresh);
+
+    BacktestResponse runBacktest(String modelVersion);
+}
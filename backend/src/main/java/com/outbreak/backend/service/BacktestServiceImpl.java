@@ -0,0 +1,162 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.model.District;
+import com.outbreak.backend.payload.BacktestMetricDTO;
+import com.outbreak.backend.payload.BacktestResponse;
+import com.outbreak.backend.repositories.DistrictRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Joins served predictions to the actual weekly case counts and reports MAE, RMSE and bias per district
+ * and per horizon. Actuals come from CaseTimeSeriesStore; each district's history is streamed from the
+ * database and folded into a handful of accumulators, so memory use does not grow with the history.
+ */
+@Service
+public class BacktestServiceImpl implements BacktestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BacktestServiceImpl.class);
+
+    // The same prediction served on every page load counts once
+    private static final String DISTRICT_HISTORY =
+            "SELECT DISTINCT predict_year, predict_week, horizon_weeks, predicted_cases FROM prediction_record " +
+            "WHERE district_id = ? AND model_version = ? AND horizon_weeks IS NOT NULL";
+
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    DistrictRepository districtRepository;
+    @Autowired
+    CaseTimeSeriesStore caseTimeSeriesStore;
+    @Autowired
+    PredictionCache predictionCache;
+
+    // Each worker holds a connection while it streams, so keep this below the connection pool size
+    @Value("${outbreak.prediction.backtest.parallelism:4}")
+    private int parallelism;
+
+    private JdbcTemplate streamingJdbcTemplate;
+    private ForkJoinPool backtestPool;
+    private final Map<String, BacktestResponse> lastReports = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL streams rows one at a time instead of buffering the whole result set
+        streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        backtestPool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        backtestPool.shutdownNow();
+    }
+
+    @Scheduled(cron = "${outbreak.prediction.backtest.cron:0 30 2 * * *}")
+    public void scheduledBacktest() {
+        BacktestResponse report = runBacktest(predictionCache.getModelVersion());
+        logger.info("Backtest of model {}: {} samples over {} districts in {} ms", report.getModelVersion(),
+                report.getSamples(), report.getDistrictsEvaluated(), report.getElapsedMillis());
+    }
+
+    @Override
+    public BacktestResponse getBacktest(String modelVersion, boolean refresh) {
+        String version = modelVersion == null || modelVersion.isBlank() ? predictionCache.getModelVersion() : modelVersion;
+        BacktestResponse report = lastReports.get(version);
+        return report == null || refresh ? runBacktest(version) : report;
+    }
+
+    @Override
+    public BacktestResponse runBacktest(String modelVersion) {
+        long startedAt = System.nanoTime();
+        List<District> districts = districtRepository.findAll();
+
+        List<DistrictErrors> results = backtestPool.submit(() -> districts.parallelStream()
+                .map(district -> evaluateDistrict(district, modelVersion))
+                .filter(errors -> !errors.byHorizon.isEmpty())
+                .toList()).join();
+
+        SortedMap<Integer, ErrorAccumulator> overall = new TreeMap<>();
+        List<BacktestMetricDTO> districtMetrics = new ArrayList<>();
+        long samples = 0;
+        for (DistrictErrors errors : results) {
+            for (Map.Entry<Integer, ErrorAccumulator> entry : errors.byHorizon.entrySet()) {
+                overall.computeIfAbsent(entry.getKey(), horizon -> new ErrorAccumulator()).merge(entry.getValue());
+                districtMetrics.add(entry.getValue().toMetric(errors.district.getDistrictId(),
+                        errors.district.getDistrictName(), entry.getKey()));
+                samples += entry.getValue().count;
+            }
+        }
+        districtMetrics.sort(Comparator.comparing(BacktestMetricDTO::getDistrictName)
+                .thenComparing(BacktestMetricDTO::getHorizonWeeks));
+
+        List<BacktestMetricDTO> overallMetrics = new ArrayList<>();
+        overall.forEach((horizon, accumulator) -> overallMetrics.add(accumulator.toMetric(null, null, horizon)));
+
+        BacktestResponse report = new BacktestResponse(modelVersion, LocalDateTime.now(), results.size(), samples,
+                overallMetrics, districtMetrics, (System.nanoTime() - startedAt) / 1_000_000);
+        lastReports.put(modelVersion, report);
+        return report;
+    }
+
+    private DistrictErrors evaluateDistrict(District district, String modelVersion) {
+        CaseTimeSeriesStore.WeeklySeries actuals = caseTimeSeriesStore.weeklySeries(district.getDistrictId());
+        DistrictErrors errors = new DistrictErrors(district);
+
+        streamingJdbcTemplate.query(DISTRICT_HISTORY, (RowCallbackHandler) rs -> {
+            // Weeks whose case counts have not arrived yet are skipped until a later run
+            int actual = actuals.casesAt(rs.getInt(1), rs.getInt(2));
+            if (actual < 0)
+                return;
+            errors.byHorizon.computeIfAbsent(rs.getInt(3), horizon -> new ErrorAccumulator())
+                    .add(rs.getDouble(4) - actual);
+        }, district.getDistrictId(), modelVersion);
+        return errors;
+    }
+
+    private record DistrictErrors(District district, Map<Integer, ErrorAccumulator> byHorizon) {
+        DistrictErrors(District district) {
+            this(district, new HashMap<>());
+        }
+    }
+
+    private static final class ErrorAccumulator {
+        long count;
+        double sumAbs;
+        double sumSquares;
+        double sum;
+
+        void add(double error) {
+            count++;
+            sumAbs += Math.abs(error);
+            sumSquares += error * error;
+            sum += error;
+        }
+
+        void merge(ErrorAccumulator other) {
+            count += other.count;
+            sumAbs += other.sumAbs;
+            sumSquares += other.sumSquares;
+            sum += other.sum;
+        }
+
+        BacktestMetricDTO toMetric(Long districtId, String districtName, Integer horizonWeeks) {
+            return new BacktestMetricDTO(districtId, districtName, horizonWeeks, count,
+                    sumAbs / count, Math.sqrt(sumSquares / count), sum / count);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.outbreak.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the case rollup tables that an earlier build created through Hibernate's schema update. The graph
+ * endpoints read CaseTimeSeriesStore instead, so nothing writes or reads these tables any more.
+ */
+@Component
+public class CaseRollupTableCleanup {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaseRollupTableCleanup.class);
+
+    private static final String[] ROLLUP_TABLES = {
+            "district_case_rollup", "monthly_case_rollup", "weekly_case_rollup", "yearly_case_rollup"};
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${outbreak.cleanup.caseRollupTables:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void dropRollupTables() {
+        if (!enabled)
+            return;
+
+        for (String table : ROLLUP_TABLES) {
+            try {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+            } catch (DataAccessException e) {
+                // Not fatal: the table is unused, so a failed drop only leaves it behind
+                logger.warn("Could not drop unused table {}: {}", table, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,569 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.event.GraphDataChangedEvent;
+import com.outbreak.backend.payload.GraphDataDTO;
+import com.outbreak.backend.repositories.GraphDataRepository;
+import com.outbreak.backend.util.CaseYears;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory copy of the weekly GraphData case counts, held as primitive columns per district
+ * and as dense (year, week) / (year, month) totals, so the chart endpoints never touch JPA.
+ */
+@Component
+public class CaseTimeSeriesStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaseTimeSeriesStore.class);
+
+    public static final int WEEKS_PER_YEAR = 53;
+    public static final int MONTHS_PER_YEAR = 12;
+    // GraphData rows without a district are kept under this key so national totals still count them
+    public static final long NO_DISTRICT = 0L;
+
+    @Autowired
+    GraphDataRepository graphDataRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Series> districtSeries = new HashMap<>();
+    private final Totals national = new Totals();
+    private int baseYear;
+    private int yearCount;
+    private volatile boolean loaded;
+
+    public record YearlyTotals(int firstYear, int[] cases) {
+    }
+
+    // Weekly cases of one district starting at week 1 of firstYear, -1 where the week has no rows
+    public record WeeklySeries(int firstYear, int[] cases) {
+        public int casesAt(int year, int week) {
+            int index = (year - firstYear) * WEEKS_PER_YEAR + week - 1;
+            if (week < 1 || week > WEEKS_PER_YEAR || index < 0 || index >= cases.length)
+                return -1;
+            return cases[index];
+        }
+    }
+
+    public enum Granularity {
+        WEEK(WEEKS_PER_YEAR, 1),
+        MONTH(MONTHS_PER_YEAR, 1),
+        QUARTER(MONTHS_PER_YEAR, 3),
+        YEAR(1, 1);
+
+        // Slots per year in the underlying dense array, and how many of them make one bucket
+        final int slotsPerYear;
+        final int slotsPerBucket;
+
+        Granularity(int slotsPerYear, int slotsPerBucket) {
+            this.slotsPerYear = slotsPerYear;
+            this.slotsPerBucket = slotsPerBucket;
+        }
+
+        public int periodsPerYear() {
+            return slotsPerYear / slotsPerBucket;
+        }
+    }
+
+    public record RangePoint(int year, int period, long cases, long rows) {
+    }
+
+    public record RangeTotals(List<RangePoint> points, long totalCases) {
+    }
+
+    // Everything the dashboard shows, read under one lock so the four series are mutually consistent
+    public record DashboardTotals(Integer latestYear, int[] monthly, int[] weekly, YearlyTotals yearly,
+                                  Map<Long, Integer> districtCases) {
+    }
+
+    // Synchronized with onGraphDataChanged and ensureLoaded, so the database read and the swap are one step
+    // and no delta can be applied in between and then wiped by a rebuild from the older snapshot
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        List<Object[]> rows = graphDataRepository.findAllForTimeSeries();
+
+        lock.writeLock().lock();
+        try {
+            districtSeries.clear();
+            national.clear();
+            baseYear = 0;
+            yearCount = 0;
+            int skipped = 0;
+            for (Object[] row : rows) {
+                if (!addRow((Long) row[0], (Long) row[1], (Integer) row[2], (Integer) row[3], (Integer) row[4], (Integer) row[5]))
+                    skipped++;
+            }
+            loaded = true;
+            if (skipped > 0)
+                logger.warn("Skipped {} GraphData rows with a missing or out-of-range caseYear", skipped);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Loaded {} GraphData rows into the case time-series store", rows.size());
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGraphDataChanged(GraphDataChangedEvent event) {
+        if (event.isReload() || !loaded) {
+            reload();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            GraphDataDTO previous = event.getPrevious();
+            if (previous != null && previous.getGraphDataId() != null)
+                removeRow(previous.getGraphDataId(), previous.getDistrictId());
+
+            // A reload that read the database after this change committed already holds the new row;
+            // removing it first keeps the delta idempotent
+            GraphDataDTO current = event.getCurrent();
+            if (current != null && current.getGraphDataId() != null)
+                removeRow(current.getGraphDataId(), current.getDistrictId());
+            if (current != null)
+                addRow(current.getGraphDataId(), current.getDistrictId(), current.getCaseYear(),
+                        current.getCaseMonth(), current.getCaseWeek(), current.getNumberOfCases());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Integer latestYear() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            for (int y = yearCount - 1; y >= 0; y--) {
+                if (national.yearRows[y] > 0)
+                    return baseYear + y;
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Total cases per month (index 0 = January), -1 where the month has no rows
+    public int[] monthlyTotals(int year) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return slice(national.monthCases, national.monthRows, year, MONTHS_PER_YEAR);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Total cases per week (index 0 = week 1), -1 where the week has no rows
+    public int[] weeklyTotals(int year) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return slice(national.weekCases, national.weekRows, year, WEEKS_PER_YEAR);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Total cases per year starting at firstYear, -1 where the year has no rows
+    public YearlyTotals yearlyTotals() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int[] cases = new int[yearCount];
+            for (int y = 0; y < yearCount; y++) {
+                cases[y] = national.yearRows[y] > 0 ? national.yearCases[y] : -1;
+            }
+            return new YearlyTotals(baseYear, cases);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public DashboardTotals dashboardTotals() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            YearlyTotals yearly = yearlyTotals();
+            Integer latestYear = latestYear();
+            if (latestYear == null)
+                return new DashboardTotals(null, new int[0], new int[0], yearly, Map.of());
+
+            return new DashboardTotals(latestYear, monthlyTotals(latestYear), weeklyTotals(latestYear), yearly,
+                    districtTotals(latestYear));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Total cases per district in the given year, for districts that have rows in that year
+    public Map<Long, Integer> districtTotals(int year) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> districtCases = new HashMap<>();
+            int y = year - baseYear;
+            if (y < 0 || y >= yearCount)
+                return districtCases;
+            for (Map.Entry<Long, Series> entry : districtSeries.entrySet()) {
+                Totals totals = entry.getValue().totals;
+                if (entry.getKey() != NO_DISTRICT && totals.yearRows[y] > 0)
+                    districtCases.put(entry.getKey(), totals.yearCases[y]);
+            }
+            return districtCases;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Case totals per bucket between (fromYear, fromPeriod) and (toYear, toPeriod) inclusive, where a period is a
+     * week, month, quarter or (ignored) year depending on the granularity. Null bounds default to the full history.
+     * Every bucket and the overall total are a difference of two prefix sums.
+     */
+    public RangeTotals rangeTotals(Long districtId, Granularity granularity,
+                                   Integer fromYear, Integer fromPeriod, Integer toYear, Integer toPeriod) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<RangePoint> points = new ArrayList<>();
+            if (yearCount == 0)
+                return new RangeTotals(points, 0);
+
+            Totals totals = national;
+            if (districtId != null) {
+                Series series = districtSeries.get(districtId);
+                totals = series == null ? null : series.totals;
+            }
+
+            int periodsPerYear = granularity.periodsPerYear();
+            int first = bucketIndex(fromYear == null ? baseYear : fromYear, fromPeriod == null ? 1 : fromPeriod, periodsPerYear);
+            int last = bucketIndex(toYear == null ? baseYear + yearCount - 1 : toYear,
+                    toPeriod == null ? periodsPerYear : toPeriod, periodsPerYear);
+            first = Math.max(first, 0);
+            last = Math.min(last, yearCount * periodsPerYear - 1);
+            if (first > last)
+                return new RangeTotals(points, 0);
+
+            long[][] prefix = totals == null ? null : totals.prefix(granularity);
+            int step = granularity.slotsPerBucket;
+            for (int bucket = first; bucket <= last; bucket++) {
+                long cases = 0;
+                long rows = 0;
+                if (prefix != null) {
+                    cases = prefix[0][(bucket + 1) * step] - prefix[0][bucket * step];
+                    rows = prefix[1][(bucket + 1) * step] - prefix[1][bucket * step];
+                }
+                points.add(new RangePoint(baseYear + bucket / periodsPerYear, bucket % periodsPerYear + 1, cases, rows));
+            }
+            long totalCases = prefix == null ? 0 : prefix[0][(last + 1) * step] - prefix[0][first * step];
+            return new RangeTotals(points, totalCases);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<GraphDataDTO> rowsForDistricts(Collection<Long> districtIds) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<GraphDataDTO> result = new ArrayList<>();
+            for (Long districtId : districtIds) {
+                if (districtId == null || districtId == NO_DISTRICT)
+                    continue;
+                Series series = districtSeries.get(districtId);
+                if (series == null)
+                    continue;
+                for (int i = 0; i < series.size; i++) {
+                    result.add(new GraphDataDTO(series.ids[i], series.cases[i], series.months[i],
+                            series.years[i], series.weeks[i], districtId));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public WeeklySeries weeklySeries(Long districtId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Series series = districtSeries.get(districtId == null ? NO_DISTRICT : districtId);
+            int[] cases = new int[yearCount * WEEKS_PER_YEAR];
+            for (int i = 0; i < cases.length; i++) {
+                cases[i] = series != null && series.totals.weekRows[i] > 0 ? series.totals.weekCases[i] : -1;
+            }
+            return new WeeklySeries(baseYear, cases);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(Long districtId, int year, int week) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Series series = districtSeries.get(districtId == null ? NO_DISTRICT : districtId);
+            int slot = weekSlot(year, week);
+            return series != null && slot >= 0 && series.totals.weekRows[slot] > 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded)
+                    reload();
+            }
+        }
+    }
+
+    private int[] slice(int[] values, int[] rows, int year, int width) {
+        int[] result = new int[width];
+        Arrays.fill(result, -1);
+        int y = year - baseYear;
+        if (y < 0 || y >= yearCount)
+            return result;
+        for (int i = 0; i < width; i++) {
+            int slot = y * width + i;
+            if (rows[slot] > 0)
+                result[i] = values[slot];
+        }
+        return result;
+    }
+
+    private int bucketIndex(int year, int period, int periodsPerYear) {
+        int clamped = Math.min(Math.max(period, 1), periodsPerYear);
+        return (year - baseYear) * periodsPerYear + clamped - 1;
+    }
+
+    private int weekSlot(int year, int week) {
+        int y = year - baseYear;
+        if (y < 0 || y >= yearCount || week < 1 || week > WEEKS_PER_YEAR)
+            return -1;
+        return y * WEEKS_PER_YEAR + week - 1;
+    }
+
+    private int monthSlot(int year, int month) {
+        int y = year - baseYear;
+        if (y < 0 || y >= yearCount || month < 1 || month > MONTHS_PER_YEAR)
+            return -1;
+        return y * MONTHS_PER_YEAR + month - 1;
+    }
+
+    // Rows outside the supported year window are rejected rather than widening every dense array
+    private boolean addRow(Long graphDataId, Long districtId, Integer year, Integer month, Integer week, Integer cases) {
+        if (graphDataId == null || !CaseYears.isSupported(year)) {
+            if (graphDataId != null && loaded)
+                logger.warn("Not storing GraphData {} with unsupported caseYear {}", graphDataId, year);
+            return false;
+        }
+
+        ensureYear(year);
+        long key = districtId == null ? NO_DISTRICT : districtId;
+        Series series = districtSeries.computeIfAbsent(key, k -> new Series(yearCount));
+        int m = month == null ? 0 : month;
+        int w = week == null ? 0 : week;
+        int c = cases == null ? 0 : cases;
+
+        series.append(graphDataId, year, m, w, c);
+        accumulate(series.totals, year, m, w, c, 1);
+        accumulate(national, year, m, w, c, 1);
+        return true;
+    }
+
+    private void removeRow(Long graphDataId, Long districtId) {
+        Series series = districtSeries.get(districtId == null ? NO_DISTRICT : districtId);
+        int index = series == null ? -1 : series.indexOf(graphDataId);
+        if (index < 0) {
+            // The row may have been stored under another district; fall back to a full search
+            for (Series candidate : districtSeries.values()) {
+                index = candidate.indexOf(graphDataId);
+                if (index >= 0) {
+                    series = candidate;
+                    break;
+                }
+            }
+            if (index < 0)
+                return;
+        }
+
+        int year = series.years[index];
+        int month = series.months[index];
+        int week = series.weeks[index];
+        int cases = series.cases[index];
+        series.removeAt(index);
+        accumulate(series.totals, year, month, week, cases, -1);
+        accumulate(national, year, month, week, cases, -1);
+    }
+
+    private void accumulate(Totals totals, int year, int month, int week, int cases, int sign) {
+        totals.clearPrefixes();
+        int y = year - baseYear;
+        totals.yearCases[y] += sign * cases;
+        totals.yearRows[y] += sign;
+
+        int weekSlot = weekSlot(year, week);
+        if (weekSlot >= 0) {
+            totals.weekCases[weekSlot] += sign * cases;
+            totals.weekRows[weekSlot] += sign;
+        }
+
+        int monthSlot = monthSlot(year, month);
+        if (monthSlot >= 0) {
+            totals.monthCases[monthSlot] += sign * cases;
+            totals.monthRows[monthSlot] += sign;
+        }
+    }
+
+    // Widens every dense array so that the given year has a slot
+    private void ensureYear(int year) {
+        if (!CaseYears.isSupported(year))
+            throw new IllegalArgumentException("Unsupported case year: " + year);
+        if (yearCount == 0) {
+            baseYear = year;
+            yearCount = 1;
+            national.resize(1, 0);
+            return;
+        }
+
+        int shift = Math.max(0, baseYear - year);
+        int newYearCount = Math.max(yearCount + shift, year - baseYear + 1);
+        if (shift == 0 && newYearCount == yearCount)
+            return;
+
+        national.resize(newYearCount, shift);
+        for (Series series : districtSeries.values()) {
+            series.totals.resize(newYearCount, shift);
+        }
+        baseYear -= shift;
+        yearCount = newYearCount;
+    }
+
+    static final class Totals {
+        int[] yearCases = new int[0];
+        int[] yearRows = new int[0];
+        int[] weekCases = new int[0];
+        int[] weekRows = new int[0];
+        int[] monthCases = new int[0];
+        int[] monthRows = new int[0];
+        // Lazily built prefix sums ([0] = cases, [1] = rows) over the dense arrays; dropped on every change
+        private long[][] weekPrefix;
+        private long[][] monthPrefix;
+        private long[][] yearPrefix;
+
+        void clear() {
+            resize(0, 0);
+        }
+
+        void resize(int newYearCount, int shiftYears) {
+            clearPrefixes();
+            yearCases = shifted(yearCases, newYearCount, shiftYears);
+            yearRows = shifted(yearRows, newYearCount, shiftYears);
+            weekCases = shifted(weekCases, newYearCount * WEEKS_PER_YEAR, shiftYears * WEEKS_PER_YEAR);
+            weekRows = shifted(weekRows, newYearCount * WEEKS_PER_YEAR, shiftYears * WEEKS_PER_YEAR);
+            monthCases = shifted(monthCases, newYearCount * MONTHS_PER_YEAR, shiftYears * MONTHS_PER_YEAR);
+            monthRows = shifted(monthRows, newYearCount * MONTHS_PER_YEAR, shiftYears * MONTHS_PER_YEAR);
+        }
+
+        // Readers share the read lock, so the lazy build is guarded by the Totals monitor
+        synchronized long[][] prefix(Granularity granularity) {
+            switch (granularity) {
+                case WEEK:
+                    if (weekPrefix == null)
+                        weekPrefix = prefixSums(weekCases, weekRows);
+                    return weekPrefix;
+                case YEAR:
+                    if (yearPrefix == null)
+                        yearPrefix = prefixSums(yearCases, yearRows);
+                    return yearPrefix;
+                default:
+                    if (monthPrefix == null)
+                        monthPrefix = prefixSums(monthCases, monthRows);
+                    return monthPrefix;
+            }
+        }
+
+        synchronized void clearPrefixes() {
+            weekPrefix = null;
+            monthPrefix = null;
+            yearPrefix = null;
+        }
+
+        private static long[][] prefixSums(int[] cases, int[] rows) {
+            long[][] prefix = new long[2][cases.length + 1];
+            for (int i = 0; i < cases.length; i++) {
+                prefix[0][i + 1] = prefix[0][i] + cases[i];
+                prefix[1][i + 1] = prefix[1][i] + rows[i];
+            }
+            return prefix;
+        }
+
+        private static int[] shifted(int[] source, int newLength, int offset) {
+            int[] target = new int[newLength];
+            if (newLength > 0)
+                System.arraycopy(source, 0, target, offset, Math.min(source.length, newLength - offset));
+            return target;
+        }
+    }
+
+    static final class Series {
+        final Totals totals = new Totals();
+        long[] ids = new long[64];
+        int[] years = new int[64];
+        int[] months = new int[64];
+        int[] weeks = new int[64];
+        int[] cases = new int[64];
+        int size;
+
+        Series(int yearCount) {
+            totals.resize(yearCount, 0);
+        }
+
+        void append(long id, int year, int month, int week, int caseCount) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                years = Arrays.copyOf(years, capacity);
+                months = Arrays.copyOf(months, capacity);
+                weeks = Arrays.copyOf(weeks, capacity);
+                cases = Arrays.copyOf(cases, capacity);
+            }
+            ids[size] = id;
+            years[size] = year;
+            months[size] = month;
+            weeks[size] = week;
+            cases[size] = caseCount;
+            size++;
+        }
+
+        int indexOf(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id)
+                    return i;
+            }
+            return -1;
+        }
+
+        void removeAt(int index) {
+            int tail = size - index - 1;
+            System.arraycopy(ids, index + 1, ids, index, tail);
+            System.arraycopy(years, index + 1, years, index, tail);
+            System.arraycopy(months, index + 1, months, index, tail);
+            System.arraycopy(weeks, index + 1, weeks, index, tail);
+            System.arraycopy(cases, index + 1, cases, index, tail);
+            size--;
+        }
+    }
+}
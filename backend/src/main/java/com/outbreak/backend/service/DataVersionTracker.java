@@ -0,0 +1,108 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.event.DistrictChangedEvent;
+import com.outbreak.backend.event.DivisionChangedEvent;
+import com.outbreak.backend.event.GraphDataChangedEvent;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic data version per aggregate, bumped by the service write methods. Public GET endpoints build
+ * strong ETags from it and answer If-None-Match / If-Modified-Since with 304 before reading any data.
+ */
+@Component
+public class DataVersionTracker {
+
+    public enum DataAggregate {
+        GRAPH_DATA("g"),
+        DISTRICTS("d"),
+        DIVISIONS("v"),
+        ALERTS("a"),
+        ARTICLES("r");
+
+        private final String tag;
+
+        DataAggregate(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Map<DataAggregate, AtomicLong> versions = new EnumMap<>(DataAggregate.class);
+    private final Map<DataAggregate, AtomicLong> lastModified = new EnumMap<>(DataAggregate.class);
+
+    public DataVersionTracker() {
+        // Seeded from the clock so ETags handed out before a restart are never reused after it
+        long startedAt = System.currentTimeMillis();
+        for (DataAggregate aggregate : DataAggregate.values()) {
+            versions.put(aggregate, new AtomicLong(startedAt));
+            lastModified.put(aggregate, new AtomicLong(startedAt));
+        }
+    }
+
+    // Runs after the store and the graph caches have applied the change, so a new ETag never labels old data
+    @Order(2)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGraphDataChanged(GraphDataChangedEvent event) {
+        bump(DataAggregate.GRAPH_DATA);
+    }
+
+    @Order(2)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDistrictChanged(DistrictChangedEvent event) {
+        // Divisions and alerts of a deleted district lost their district reference as well
+        if (event.getChange() == DistrictChangedEvent.Change.DELETED)
+            bump(DataAggregate.DISTRICTS, DataAggregate.DIVISIONS, DataAggregate.ALERTS);
+        else
+            bump(DataAggregate.DISTRICTS);
+    }
+
+    @Order(2)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDivisionChanged(DivisionChangedEvent event) {
+        bump(DataAggregate.DIVISIONS);
+    }
+
+    public void bump(DataAggregate... aggregates) {
+        long now = System.currentTimeMillis();
+        for (DataAggregate aggregate : aggregates) {
+            versions.get(aggregate).incrementAndGet();
+            lastModified.get(aggregate).accumulateAndGet(now, Math::max);
+        }
+    }
+
+    public long version(DataAggregate aggregate) {
+        return versions.get(aggregate).get();
+    }
+
+    public String eTag(DataAggregate... aggregates) {
+        StringBuilder eTag = new StringBuilder("\"");
+        for (int i = 0; i < aggregates.length; i++) {
+            if (i > 0)
+                eTag.append('-');
+            eTag.append(aggregates[i].tag).append(Long.toString(versions.get(aggregates[i]).get(), 36));
+        }
+        return eTag.append('"').toString();
+    }
+
+    public long lastModified(DataAggregate... aggregates) {
+        long latest = 0;
+        for (DataAggregate aggregate : aggregates) {
+            latest = Math.max(latest, lastModified.get(aggregate).get());
+        }
+        return latest;
+    }
+
+    /**
+     * Sets the ETag and Last-Modified headers for the given aggregates and returns true when the client's
+     * copy is still current, in which case the response is already a 304 and the handler should return null.
+     */
+    public boolean checkNotModified(WebRequest webRequest, DataAggregate... aggregates) {
+        return webRequest.checkNotModified(eTag(aggregates), lastModified(aggregates));
+    }
+}
@@ -0,0 +1,11 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.payload.DatasetExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface DatasetExportService {
+    long exportDataset(OutputStream outputStream, DatasetExportFormat format,
+                       Integer year, Long districtId, Integer fromWeek, Integer toWeek) throws IOException;
+}
@@ -0,0 +1,112 @@
+package com.outbreak.backend.service;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.outbreak.backend.payload.DatasetExportFormat;
+import com.outbreak.backend.repositories.GraphDataRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class DatasetExportServiceImpl implements DatasetExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetExportServiceImpl.class);
+
+    private static final String CSV_HEADER = "graphDataId,districtId,districtName,caseYear,caseMonth,caseWeek,numberOfCases";
+
+    @Autowired
+    GraphDataRepository graphDataRepository;
+
+    // The stream holds an open cursor, so it must be consumed inside this transaction
+    @Override
+    @Transactional(readOnly = true)
+    public long exportDataset(OutputStream outputStream, DatasetExportFormat format,
+                              Integer year, Long districtId, Integer fromWeek, Integer toWeek) throws IOException {
+        long startedAt = System.nanoTime();
+        long rows = 0;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == DatasetExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        // Send the header before the first row is read so clients see the response start immediately
+        writer.flush();
+
+        try (Stream<Object[]> stream = graphDataRepository.streamForExport(year, districtId, fromWeek, toWeek)) {
+            Iterator<Object[]> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                if (format == DatasetExportFormat.CSV)
+                    writeCsvRow(writer, row);
+                else
+                    writeJsonRow(writer, row);
+                rows++;
+            }
+        }
+        writer.flush();
+
+        logger.info("Dataset export: {} rows as {} in {} ms", rows, format,
+                (System.nanoTime() - startedAt) / 1_000_000);
+        return rows;
+    }
+
+    private void writeCsvRow(Writer writer, Object[] row) throws IOException {
+        writer.write(value(row[0]));
+        writer.write(',');
+        writer.write(value(row[1]));
+        writer.write(',');
+        writer.write(csvText(row[2]));
+        for (int i = 3; i < row.length; i++) {
+            writer.write(',');
+            writer.write(value(row[i]));
+        }
+        writer.write('\n');
+    }
+
+    private void writeJsonRow(Writer writer, Object[] row) throws IOException {
+        writer.write("{\"graphDataId\":");
+        writer.write(jsonValue(row[0]));
+        writer.write(",\"districtId\":");
+        writer.write(jsonValue(row[1]));
+        writer.write(",\"districtName\":");
+        writer.write(row[2] == null ? "null" : "\"" + new String(JsonStringEncoder.getInstance().quoteAsString(row[2].toString())) + "\"");
+        writer.write(",\"caseYear\":");
+        writer.write(jsonValue(row[3]));
+        writer.write(",\"caseMonth\":");
+        writer.write(jsonValue(row[4]));
+        writer.write(",\"caseWeek\":");
+        writer.write(jsonValue(row[5]));
+        writer.write(",\"numberOfCases\":");
+        writer.write(jsonValue(row[6]));
+        writer.write("}\n");
+    }
+
+    private String value(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private String jsonValue(Object value) {
+        return value == null ? "null" : value.toString();
+    }
+
+    private String csvText(Object value) {
+        if (value == null)
+            return "";
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0)
+            return text;
+        return "\"" + text.replace("\"", "\"\"") + "\"";
+    }
+}
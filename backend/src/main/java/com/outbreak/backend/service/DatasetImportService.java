@@ -0,0 +1,10 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.payload.DatasetImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface DatasetImportService {
+    DatasetImportResponse importDataset(InputStream inputStream) throws IOException;
+}
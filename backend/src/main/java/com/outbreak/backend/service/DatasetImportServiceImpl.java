@@ -0,0 +1,285 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.event.GraphDataChangedEvent;
+import com.outbreak.backend.event.WeatherDataChangedEvent;
+import com.outbreak.backend.exceptions.APIException;
+import com.outbreak.backend.model.District;
+import com.outbreak.backend.payload.DatasetImportResponse;
+import com.outbreak.backend.repositories.DistrictRepository;
+import com.outbreak.backend.util.CaseYears;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@Service
+public class DatasetImportServiceImpl implements DatasetImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetImportServiceImpl.class);
+
+    private static final int MAX_REJECTED_SAMPLES = 20;
+
+    private static final String INSERT_GRAPH_DATA =
+            "INSERT INTO graph_data (district_name, number_of_cases, case_month, case_year, case_week, district_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_WEATHER_DATA =
+            "INSERT INTO weather_data (predict_month, predict_week, predict_year, avg_max_temp, avg_min_temp, " +
+            "total_precipitation, avg_wind_speed, max_wind_gusts, weather_code, district_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Column headers of the weekly training dataset
+    private static final String COL_DISTRICT = "District";
+    private static final String COL_CASES = "Number_of_Cases";
+    private static final String COL_MONTH = "Month";
+    private static final String COL_YEAR = "Year";
+    private static final String COL_WEEK = "Week";
+    private static final String COL_MAX_TEMP = "Avg Max Temp (\u00B0C)";
+    private static final String COL_MIN_TEMP = "Avg Min Temp (\u00B0C)";
+    private static final String COL_PRECIPITATION = "Total Precipitation (mm)";
+    private static final String COL_WIND_SPEED = "Avg Wind Speed (km/h)";
+    private static final String COL_WIND_GUSTS = "Max Wind Gusts (km/h)";
+    private static final String COL_WEATHER_CODE = "Weather Code";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    DistrictRepository districtRepository;
+    @Autowired
+    CaseTimeSeriesStore caseTimeSeriesStore;
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher;
+    @Autowired
+    PredictionCache predictionCache;
+
+    @Value("${outbreak.import.batchSize:1000}")
+    private int batchSize;
+
+    @Override
+    public DatasetImportResponse importDataset(InputStream inputStream) throws IOException {
+        long startedAt = System.nanoTime();
+
+        // Step 1: Resolve districts by name once instead of per row
+        Map<String, District> districtsByName = new HashMap<>();
+        for (District district : districtRepository.findAll()) {
+            districtsByName.put(normalise(district.getDistrictName()), district);
+        }
+
+        // Keys are bounded by districts x years x weeks, not by the size of the file
+        Set<Long> existingWeatherKeys = loadWeatherKeys();
+        Set<Long> seenGraphKeys = new HashSet<>();
+
+        ImportProgress progress = new ImportProgress();
+        List<Object[]> graphBatch = new ArrayList<>(batchSize);
+        List<Object[]> weatherBatch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null)
+                throw new APIException("The uploaded dataset is empty");
+
+            // Step 2: Locate columns by header name
+            Map<String, Integer> columns = indexColumns(header);
+            int districtCol = requireColumn(columns, COL_DISTRICT);
+            int casesCol = requireColumn(columns, COL_CASES);
+            int monthCol = requireColumn(columns, COL_MONTH);
+            int yearCol = requireColumn(columns, COL_YEAR);
+            int weekCol = requireColumn(columns, COL_WEEK);
+            int[] weatherCols = {
+                    columns.getOrDefault(COL_MAX_TEMP, -1),
+                    columns.getOrDefault(COL_MIN_TEMP, -1),
+                    columns.getOrDefault(COL_PRECIPITATION, -1),
+                    columns.getOrDefault(COL_WIND_SPEED, -1),
+                    columns.getOrDefault(COL_WIND_GUSTS, -1),
+                    columns.getOrDefault(COL_WEATHER_CODE, -1)
+            };
+            boolean hasWeather = Arrays.stream(weatherCols).allMatch(col -> col >= 0);
+
+            // Step 3: Stream the rows, flushing a JDBC batch whenever one fills up
+            String line;
+            long lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank())
+                    continue;
+                progress.linesRead++;
+
+                String[] fields = line.split(",", -1);
+                try {
+                    District district = districtsByName.get(normalise(fields[districtCol]));
+                    if (district == null) {
+                        progress.reject(lineNumber, "unknown district '" + fields[districtCol].trim() + "'");
+                        continue;
+                    }
+
+                    int year = parseNumber(fields[yearCol]);
+                    int month = parseNumber(fields[monthCol]);
+                    int week = parseNumber(fields[weekCol]);
+                    int cases = parseNumber(fields[casesCol]);
+                    if (!CaseYears.isSupported(year) || month < 1 || month > 12
+                            || week < 1 || week > CaseTimeSeriesStore.WEEKS_PER_YEAR || cases < 0) {
+                        progress.reject(lineNumber, "year, month, week or case count out of range");
+                        continue;
+                    }
+
+                    // Parse the weather columns before batching anything so a bad row is rejected as a whole
+                    Object[] weatherRow = null;
+                    if (hasWeather) {
+                        weatherRow = new Object[]{month, week, year,
+                                parseNumber(fields[weatherCols[0]]), parseNumber(fields[weatherCols[1]]),
+                                parseNumber(fields[weatherCols[2]]), parseNumber(fields[weatherCols[3]]),
+                                parseNumber(fields[weatherCols[4]]), parseNumber(fields[weatherCols[5]]),
+                                district.getDistrictId()};
+                    }
+
+                    long key = rowKey(district.getDistrictId(), year, week);
+                    if (!seenGraphKeys.add(key) || caseTimeSeriesStore.contains(district.getDistrictId(), year, week)) {
+                        progress.graphDataDuplicates++;
+                    } else {
+                        graphBatch.add(new Object[]{district.getDistrictName(), cases, month, year, week, district.getDistrictId()});
+                    }
+
+                    if (weatherRow != null) {
+                        if (existingWeatherKeys.add(key))
+                            weatherBatch.add(weatherRow);
+                        else
+                            progress.weatherDataDuplicates++;
+                    }
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    progress.reject(lineNumber, "malformed row");
+                    continue;
+                }
+
+                if (graphBatch.size() >= batchSize || weatherBatch.size() >= batchSize)
+                    flush(graphBatch, weatherBatch, progress, lineNumber);
+            }
+            flush(graphBatch, weatherBatch, progress, lineNumber);
+        } finally {
+            // Rows committed so far must become visible even if a later batch failed
+            if (progress.graphDataInserted > 0) {
+                applicationEventPublisher.publishEvent(GraphDataChangedEvent.reloaded());
+            }
+            if (progress.weatherDataInserted > 0) {
+                predictionCache.invalidateAll();
+                applicationEventPublisher.publishEvent(new WeatherDataChangedEvent(null));
+            }
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        double rowsPerSecond = progress.linesRead * 1000.0 / elapsedMillis;
+        logger.info("Dataset import: {} lines, {} GraphData and {} WeatherData rows inserted, {} rejected in {} ms ({} rows/s)",
+                progress.linesRead, progress.graphDataInserted, progress.weatherDataInserted,
+                progress.rejectedLines, elapsedMillis, Math.round(rowsPerSecond));
+
+        return new DatasetImportResponse(
+                progress.linesRead,
+                progress.graphDataInserted,
+                progress.weatherDataInserted,
+                progress.graphDataDuplicates,
+                progress.weatherDataDuplicates,
+                progress.rejectedLines,
+                progress.rejectedSamples,
+                elapsedMillis,
+                rowsPerSecond
+        );
+    }
+
+    private void flush(List<Object[]> graphBatch, List<Object[]> weatherBatch, ImportProgress progress, long lineNumber) {
+        if (graphBatch.isEmpty() && weatherBatch.isEmpty())
+            return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!graphBatch.isEmpty())
+                    jdbcTemplate.batchUpdate(INSERT_GRAPH_DATA, graphBatch);
+                if (!weatherBatch.isEmpty())
+                    jdbcTemplate.batchUpdate(INSERT_WEATHER_DATA, weatherBatch);
+            });
+        } catch (DataAccessException e) {
+            throw new APIException("Import stopped at line " + lineNumber + " after "
+                    + progress.graphDataInserted + " rows: " + e.getMostSpecificCause().getMessage());
+        }
+
+        progress.graphDataInserted += graphBatch.size();
+        progress.weatherDataInserted += weatherBatch.size();
+        graphBatch.clear();
+        weatherBatch.clear();
+    }
+
+    private Set<Long> loadWeatherKeys() {
+        Set<Long> keys = new HashSet<>();
+        jdbcTemplate.query("SELECT district_id, predict_year, predict_week FROM weather_data WHERE district_id IS NOT NULL",
+                (RowCallbackHandler) rs -> keys.add(rowKey(rs.getLong(1), rs.getInt(2), rs.getInt(3))));
+        return keys;
+    }
+
+    private Map<String, Integer> indexColumns(String header) {
+        // Strip a UTF-8 byte order mark if the file was saved by a spreadsheet
+        if (header.startsWith("\uFEFF"))
+            header = header.substring(1);
+
+        Map<String, Integer> columns = new HashMap<>();
+        String[] names = header.split(",", -1);
+        for (int i = 0; i < names.length; i++) {
+            columns.put(names[i].trim(), i);
+        }
+        return columns;
+    }
+
+    private int requireColumn(Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null)
+            throw new APIException("Dataset is missing the '" + name + "' column");
+        return index;
+    }
+
+    private int parseNumber(String value) {
+        String trimmed = value.trim();
+        try {
+            return Integer.parseInt(trimmed);
+        } catch (NumberFormatException e) {
+            return (int) Math.round(Double.parseDouble(trimmed));
+        }
+    }
+
+    // "NuwaraEliya" in the dataset and "Nuwara Eliya" in the districts table resolve to the same key
+    private String normalise(String districtName) {
+        return districtName == null ? "" : districtName.replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT);
+    }
+
+    // Unique for years inside CaseYears' window, which every row is checked against first
+    private long rowKey(long districtId, int year, int week) {
+        return districtId * 1_000_000L + year * 100L + week;
+    }
+
+    private static final class ImportProgress {
+        long linesRead;
+        long graphDataInserted;
+        long weatherDataInserted;
+        long graphDataDuplicates;
+        long weatherDataDuplicates;
+        long rejectedLines;
+        final List<String> rejectedSamples = new ArrayList<>();
+
+        void reject(long lineNumber, String reason) {
+            rejectedLines++;
+            if (rejectedSamples.size() < MAX_REJECTED_SAMPLES)
+                rejectedSamples.add("line " + lineNumber + ": " + reason);
+        }
+    }
+}
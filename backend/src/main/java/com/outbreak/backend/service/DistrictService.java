@@ -2,6 +2,9 @@ package com.outbreak.backend.service;
 
 import com.outbreak.backend.payload.DistrictDTO;
 import com.outbreak.backend.payload.DistrictResponse;
+import com.outbreak.backend.payload.NameSuggestionDTO;
+
+import java.util.List;
 
 public interface DistrictService {
     DistrictResponse getAllDistrict(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
@@ -13,4 +16,6 @@ public interface DistrictService {
     DistrictDTO deleteDistrict(Long districtId);
 
     DistrictDTO updateDistrict(DistrictDTO districtDTO, Long districtId);
+
+    List<NameSuggestionDTO> autocomplete(String query, Integer limit);
 }
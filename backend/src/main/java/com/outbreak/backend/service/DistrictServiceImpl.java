@@ -1,5 +1,6 @@
 package com.outbreak.backend.service;
 
+import com.outbreak.backend.event.DistrictChangedEvent;
 import com.outbreak.backend.exceptions.APIException;
 import com.outbreak.backend.exceptions.ResourceNotFoundException;
 import com.outbreak.backend.model.Alert;
@@ -7,18 +8,24 @@ import com.outbreak.backend.model.District;
 import com.outbreak.backend.model.Division;
 import com.outbreak.backend.payload.DistrictDTO;
 import com.outbreak.backend.payload.DistrictResponse;
+import com.outbreak.backend.payload.NameSuggestionDTO;
 import com.outbreak.backend.repositories.AlertRepository;
 import com.outbreak.backend.repositories.DistrictRepository;
 import com.outbreak.backend.repositories.DivisionRepository;
+import com.outbreak.backend.repositories.PredictionResultRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class DistrictServiceImpl implements DistrictService{
@@ -33,6 +40,15 @@ public class DistrictServiceImpl implements DistrictService{
     @Autowired
     AlertRepository alertRepository;
 
+    @Autowired
+    NameSearchIndex nameSearchIndex;
+
+    @Autowired
+    PredictionResultRepository predictionResultRepository;
+
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher;
+
 
     @Override
     public DistrictResponse getAllDistrict(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
@@ -69,14 +85,16 @@ public class DistrictServiceImpl implements DistrictService{
 
         Page<District> districtPage;
 
-        // Check if input is a valid districtId (numeric)
+        // Name matches come from the index; a numeric input also matches the districtId itself
+        Set<Long> districtIds = new HashSet<>(nameSearchIndex.districtIdsMatching(input));
         try {
-            Long districtId = Long.parseLong(input);
-            districtPage = districtRepository.findByDistrictIdOrDistrictNameLikeIgnoreCase(districtId, "%"+ input + "%", pageDetails);
+            districtIds.add(Long.parseLong(input));
         } catch (NumberFormatException e) {
-            // If not numeric, treat it as a district name search
-            districtPage = districtRepository.findByDistrictNameLikeIgnoreCase("%" + input + "%", pageDetails);
+            // Not numeric, so a name search only
         }
+        districtPage = districtIds.isEmpty()
+                ? Page.empty(pageDetails)
+                : districtRepository.findByDistrictIdIn(districtIds, pageDetails);
 
         List<District> districts = districtPage.getContent();
 
@@ -98,6 +116,7 @@ public class DistrictServiceImpl implements DistrictService{
     }
 
     @Override
+    @Transactional
     public DistrictDTO createDistrict(DistrictDTO districtDTO) {
         District district = modelMapper.map(districtDTO,District.class);
 
@@ -106,10 +125,12 @@ public class DistrictServiceImpl implements DistrictService{
             throw new APIException("District with the name " + district.getDistrictName() + " already exists!!!");
 
         District savedDistrict = districtRepository.save(district);
+        applicationEventPublisher.publishEvent(DistrictChangedEvent.created(savedDistrict.getDistrictId()));
         return modelMapper.map(savedDistrict,DistrictDTO.class);
     }
 
     @Override
+    @Transactional
     public DistrictDTO deleteDistrict(Long districtId) {
         District district = districtRepository.findById(districtId)
                 .orElseThrow(() -> new ResourceNotFoundException("District","districtId",districtId));
@@ -135,16 +156,30 @@ public class DistrictServiceImpl implements DistrictService{
 
 
         districtRepository.delete(district);
+        // Caches, ETags and token trust are reset by the listeners once the delete has committed
+        applicationEventPublisher.publishEvent(DistrictChangedEvent.deleted(districtId));
         return modelMapper.map(district,DistrictDTO.class);
     }
 
     @Override
+    @Transactional
     public DistrictDTO updateDistrict(DistrictDTO districtDTO, Long districtId) {
         District districtFromDB = districtRepository.findById(districtId)
                 .orElseThrow(() -> new ResourceNotFoundException("District","districtId",districtId));
 
         districtFromDB.setDistrictName(districtDTO.getDistrictName());
         districtRepository.save(districtFromDB);
+        // The model is called with the district name; stored predictions go in the same transaction as the rename
+        predictionResultRepository.deleteByDistrictId(districtId);
+        applicationEventPublisher.publishEvent(DistrictChangedEvent.renamed(districtId));
         return modelMapper.map(districtFromDB,DistrictDTO.class);
     }
+
+    @Override
+    public List<NameSuggestionDTO> autocomplete(String query, Integer limit) {
+        if (query == null || query.isBlank())
+            throw new APIException("Search text must not be empty");
+
+        return nameSearchIndex.suggest(query, Math.min(Math.max(limit, 1), 50));
+    }
 }
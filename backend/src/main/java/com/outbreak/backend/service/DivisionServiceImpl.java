@@ -1,5 +1,6 @@
 package com.outbreak.backend.service;
 
+import com.outbreak.backend.event.DivisionChangedEvent;
 import com.outbreak.backend.exceptions.APIException;
 import com.outbreak.backend.exceptions.ResourceNotFoundException;
 import com.outbreak.backend.model.*;
@@ -9,13 +10,19 @@ import com.outbreak.backend.repositories.DivisionRepository;
 import com.outbreak.backend.repositories.UserRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,9 +36,14 @@ public class DivisionServiceImpl implements DivisionService{
     UserRepository userRepository;
     @Autowired
     ModelMapper modelMapper;
+    @Autowired
+    NameSearchIndex nameSearchIndex;
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher;
 
 
     @Override
+    @Transactional
     public DivisionDTO createDivision(DivisionDTO divisionDTO) {
 
         District district = districtRepository.findById(divisionDTO.getDistrictId())
@@ -52,6 +64,7 @@ public class DivisionServiceImpl implements DivisionService{
             Division division = modelMapper.map(divisionDTO, Division.class);
             division.setDistrict(district);
             Division savedDivision = divisionRepository.save(division);
+            applicationEventPublisher.publishEvent(DivisionChangedEvent.created(savedDivision.getDivisionId()));
             return modelMapper.map(savedDivision, DivisionDTO.class);
         }else{
             throw new APIException("Division Already Exist!!!");
@@ -75,6 +88,7 @@ public class DivisionServiceImpl implements DivisionService{
     }
 
     @Override
+    @Transactional
     public DivisionDTO deleteDivision(Long divisionId) {
         Division division = divisionRepository.findById(divisionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Division","divisionId",divisionId));
@@ -87,22 +101,28 @@ public class DivisionServiceImpl implements DivisionService{
 
         // Remove division reference from users
         List<User> users = userRepository.findByDivision(division);
+        List<String> detachedUsernames = new ArrayList<>();
         for (User user : users) {
             user.setDivision(null);
             userRepository.save(user);
+            detachedUsernames.add(user.getUserName());
         }
 
         divisionRepository.delete(division);
+        // Caches, ETags and token trust are reset by the listeners once the delete has committed
+        applicationEventPublisher.publishEvent(DivisionChangedEvent.deleted(divisionId, detachedUsernames));
         return modelMapper.map(division,DivisionDTO.class);
     }
 
     @Override
+    @Transactional
     public DivisionDTO updateDivision(DivisionDTO divisionDTO, Long divisionId) {
         Division divisionFromDB = divisionRepository.findById(divisionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Division","divisionId",divisionId));
 
         divisionFromDB.setDivisionName(divisionDTO.getDivisionName());
         divisionRepository.save(divisionFromDB);
+        applicationEventPublisher.publishEvent(DivisionChangedEvent.renamed(divisionId));
         return modelMapper.map(divisionFromDB,DivisionDTO.class);
     }
 
@@ -114,14 +134,16 @@ public class DivisionServiceImpl implements DivisionService{
 
         Page<Division> divisionPage;
 
-        // Check if input is a valid divisionId (numeric)
+        // Name matches come from the index; a numeric input also matches the divisionId itself
+        Set<Long> divisionIds = new HashSet<>(nameSearchIndex.divisionIdsMatching(input));
         try {
-            Long divisionId = Long.parseLong(input);
-            divisionPage = divisionRepository.findByDivisionIdOrDivisionNameLikeIgnoreCase(divisionId, "%"+ input + "%", pageDetails);
+            divisionIds.add(Long.parseLong(input));
         } catch (NumberFormatException e) {
-            // If not numeric, treat it as a division name search
-            divisionPage = divisionRepository.findByDivisionNameLikeIgnoreCase("%" + input + "%", pageDetails);
+            // Not numeric, so a name search only
         }
+        divisionPage = divisionIds.isEmpty()
+                ? Page.empty(pageDetails)
+                : divisionRepository.findByDivisionIdIn(divisionIds, pageDetails);
 
         List<Division> divisions = divisionPage.getContent();
 
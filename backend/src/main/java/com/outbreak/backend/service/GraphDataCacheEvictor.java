@@ -0,0 +1,52 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.config.CacheConfig;
+import com.outbreak.backend.event.DistrictChangedEvent;
+import com.outbreak.backend.event.GraphDataChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class GraphDataCacheEvictor {
+
+    @Autowired
+    CacheManager cacheManager;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Runs after the time-series store has applied the same change, so a re-read sees the new data. A reader
+    // that computed its result before the store update may still put it back afterwards; it lands under the
+    // old data version in its key (CacheConfig.GRAPH_KEY_GENERATOR) and is never served.
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGraphDataChanged(GraphDataChangedEvent event) {
+        evictAll();
+    }
+
+    // Cached district totals carry the district name
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDistrictChanged(DistrictChangedEvent event) {
+        if (event.changesExistingDistrict())
+            evictAll();
+    }
+
+    public void evictAll() {
+        for (String cacheName : CacheConfig.GRAPH_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null)
+                cache.clear();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+}
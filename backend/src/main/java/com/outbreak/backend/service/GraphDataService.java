@@ -23,13 +23,17 @@ public interface GraphDataService {
 
     List<YearlyCasesResponse> getYearlyCases();
 
+    DashboardResponse getDashboard();
+
+    CaseSeriesResponse getCaseSeries(Long districtId, String granularity, Integer fromYear, Integer fromPeriod, Integer toYear, Integer toPeriod);
+
     GraphDataDTO saveData(GraphDataDTO graphDataDTO);
 
     GraphDataDTO deleteData(Long graphDataId);
 
     GraphDataDTO updateData(GraphDataDTO graphDataDTO, Long graphDataId);
 
-    DatasetResponse getAllData(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    DatasetResponse getAllData(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String cursor);
 
     DatasetResponse searchDataByDistrictNameOrCaseYear(String input, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 }
@@ -1,5 +1,8 @@
 package com.outbreak.backend.service;
 
+import com.outbreak.backend.config.AppConstants;
+import com.outbreak.backend.config.CacheConfig;
+import com.outbreak.backend.event.GraphDataChangedEvent;
 import com.outbreak.backend.exceptions.APIException;
 import com.outbreak.backend.exceptions.ResourceNotFoundException;
 import com.outbreak.backend.model.Alert;
@@ -7,19 +10,23 @@ import com.outbreak.backend.model.District;
 import com.outbreak.backend.model.GraphData;
 import com.outbreak.backend.model.WeatherData;
 import com.outbreak.backend.payload.*;
-import com.outbreak.backend.repositories.DistrictRepository;
-import com.outbreak.backend.repositories.GraphDataRepository;
+import com.outbreak.backend.repositories.*;
+import com.outbreak.backend.util.CaseYears;
+import com.outbreak.backend.util.KeysetCursor;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class GraphDataServiceImpl implements GraphDataService{
@@ -30,8 +37,15 @@ public class GraphDataServiceImpl implements GraphDataService{
     ModelMapper modelMapper;
     @Autowired
     DistrictRepository districtRepository;
+    @Autowired
+    CaseTimeSeriesStore caseTimeSeriesStore;
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher;
+    @Autowired
+    NameSearchIndex nameSearchIndex;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.GRAPH_ALL, keyGenerator = CacheConfig.GRAPH_KEY_GENERATOR)
     public List<GraphDataDTO> getAllGraphData() {
         List<GraphData> graphDataList = graphDataRepository.findAll();
 
@@ -48,30 +62,29 @@ public class GraphDataServiceImpl implements GraphDataService{
     @Override
     public List<GraphDataDTO> searchGraphDataByIdOrDistrictName(String input) {
         // First, check if the input is a numeric districtId
-        List<GraphData> graphDataList;
+        List<Long> districtIds;
         try {
-            Long districtId = Long.parseLong(input);
-            // Find GraphData by districtId
-            graphDataList = graphDataRepository.findByDistrictDistrictId(districtId);
+            districtIds = List.of(Long.parseLong(input));
         } catch (NumberFormatException e) {
             // If not numeric, treat it as a district name search
-            graphDataList = graphDataRepository.findByDistrictDistrictNameLikeIgnoreCase("%" + input + "%");
+            districtIds = nameSearchIndex.districtIdsMatching(input).stream().toList();
         }
 
-        if (graphDataList.isEmpty()) {
+        // Rows come straight from the in-memory time-series store
+        List<GraphDataDTO> graphDataDTOList = caseTimeSeriesStore.rowsForDistricts(districtIds);
+
+        if (graphDataDTOList.isEmpty()) {
             throw new APIException("GraphData not found for district: " + input);
         }
 
-        // Convert GraphData entities to DTOs
-        List<GraphDataDTO> graphDataDTOList = graphDataList.stream()
-                .map(graphData -> modelMapper.map(graphData, GraphDataDTO.class))
-                .collect(Collectors.toList());
-
         return graphDataDTOList;
     }
 
     @Override
+    @Transactional
     public GraphDataDTO addGraphData(GraphDataDTO graphDataDTO) {
+        CaseYears.requireSupported(graphDataDTO.getCaseYear());
+
         District district = districtRepository.findById(graphDataDTO.getDistrictId())
                 .orElseThrow(() -> new ResourceNotFoundException("District", "districtId",graphDataDTO.getDistrictId()));
 
@@ -79,44 +92,60 @@ public class GraphDataServiceImpl implements GraphDataService{
         graphData.setDistrict(district);
         graphData.setDistrictName(district.getDistrictName());
         graphDataRepository.save(graphData);
+        applicationEventPublisher.publishEvent(GraphDataChangedEvent.created(snapshotOf(graphData)));
         return modelMapper.map(graphData, GraphDataDTO.class);
     }
 
     @Override
+    @Transactional
     public GraphDataDTO deleteGraphData(Long graphDataId) {
         GraphData graphData = graphDataRepository.findById(graphDataId)
                 .orElseThrow(() -> new ResourceNotFoundException("GraphData", "graphDataId", graphDataId));
 
         graphDataRepository.delete(graphData);
+        applicationEventPublisher.publishEvent(GraphDataChangedEvent.deleted(snapshotOf(graphData)));
         return modelMapper.map(graphData, GraphDataDTO.class);
     }
 
     @Override
+    @Transactional
     public GraphDataDTO updateGraphData(GraphDataDTO graphDataDTO, Long graphDataId) {
+        CaseYears.requireSupported(graphDataDTO.getCaseYear());
+
         GraphData graphDataFromDB = graphDataRepository.findById(graphDataId)
                 .orElseThrow(() -> new ResourceNotFoundException("GraphData", "graphDataId", graphDataId));
 
         District district = districtRepository.findById(graphDataDTO.getDistrictId())
                 .orElseThrow(() -> new ResourceNotFoundException("District", "districtId",graphDataDTO.getDistrictId()));
 
+        // save() merges into the managed row, so keep the old values for the change event
+        GraphDataDTO previous = snapshotOf(graphDataFromDB);
+
         GraphData graphData = modelMapper.map(graphDataDTO, GraphData.class);
         graphData.setGraphDataId(graphDataId);
-        graphDataFromDB.setDistrict(district);
+        graphData.setDistrictName(district.getDistrictName());
+        graphData.setDistrict(district);
         graphDataFromDB = graphDataRepository.save(graphData);
+        applicationEventPublisher.publishEvent(GraphDataChangedEvent.updated(previous, snapshotOf(graphDataFromDB)));
         return modelMapper.map(graphDataFromDB, GraphDataDTO.class);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.GRAPH_MONTHLY, keyGenerator = CacheConfig.GRAPH_KEY_GENERATOR)
     public List<MonthlyCaseGraphResponse> getMonthlyCasesForLatestYear() {
-        // Step 1: Find the latest year in the database
-        Integer latestYear = graphDataRepository.findMaxYear();
+        // Step 1: Find the latest year in the time-series store
+        Integer latestYear = caseTimeSeriesStore.latestYear();
         if (latestYear == null) {
             throw new APIException("No data available.");
         }
 
-        // Step 2: Fetch and aggregate dengue cases for the latest year
-        List<Object[]> monthlyCases = graphDataRepository.getMonthlyCasesSummary(latestYear);
+        // Step 2: Read the monthly totals for the latest year (-1 marks months without data)
+        int[] monthlyCases = caseTimeSeriesStore.monthlyTotals(latestYear);
+
+        return toMonthlyResponses(latestYear, monthlyCases);
+    }
 
+    private List<MonthlyCaseGraphResponse> toMonthlyResponses(Integer latestYear, int[] monthlyCases) {
         // Step 3: Prepare month mapping
         Map<Integer, String> monthMap = new HashMap<>();
         monthMap.put(1, "January");
@@ -136,9 +165,10 @@ public class GraphDataServiceImpl implements GraphDataService{
         List<MonthlyCaseGraphResponse> responseList = new ArrayList<>();
         long idCounter = 1;
 
-        for (Object[] row : monthlyCases) {
-            Integer month = (Integer) row[0]; // Extract month
-            Integer totalCases = ((Number) row[1]).intValue(); // Extract total cases safely
+        for (int month = 1; month <= monthlyCases.length; month++) {
+            int totalCases = monthlyCases[month - 1];
+            if (totalCases < 0)
+                continue;
 
             MonthlyCaseGraphResponse response = new MonthlyCaseGraphResponse(
                     idCounter++,             // graphDataId (auto-incremented)
@@ -153,54 +183,125 @@ public class GraphDataServiceImpl implements GraphDataService{
         return responseList;
 
     }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.GRAPH_DASHBOARD, keyGenerator = CacheConfig.GRAPH_KEY_GENERATOR)
+    public DashboardResponse getDashboard() {
+        // One consistent read of the time-series store feeds all four charts
+        CaseTimeSeriesStore.DashboardTotals totals = caseTimeSeriesStore.dashboardTotals();
+        Integer latestYear = totals.latestYear();
+        if (latestYear == null) {
+            throw new APIException("No data available.");
+        }
+
+        return new DashboardResponse(
+                latestYear,
+                toMonthlyResponses(latestYear, totals.monthly()),
+                toDistrictResponses(latestYear, totals.districtCases()),
+                toWeeklyResponses(latestYear, totals.weekly()),
+                toYearlyResponses(totals.yearly())
+        );
+    }
+
     @Override
+    public CaseSeriesResponse getCaseSeries(Long districtId, String granularity, Integer fromYear, Integer fromPeriod, Integer toYear, Integer toPeriod) {
+        CaseTimeSeriesStore.Granularity bucketSize;
+        try {
+            bucketSize = CaseTimeSeriesStore.Granularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new APIException("Unsupported granularity: " + granularity + " (expected week, month, quarter or year)");
+        }
+        if (fromYear != null && toYear != null && fromYear > toYear)
+            throw new APIException("fromYear must not be after toYear");
+
+        String districtName = null;
+        if (districtId != null) {
+            District district = districtRepository.findById(districtId)
+                    .orElseThrow(() -> new ResourceNotFoundException("District", "districtId", districtId));
+            districtName = district.getDistrictName();
+        }
+
+        // Each bucket is a difference of two prefix sums, whatever the range
+        CaseTimeSeriesStore.RangeTotals rangeTotals = caseTimeSeriesStore.rangeTotals(
+                districtId, bucketSize, fromYear, fromPeriod, toYear, toPeriod);
+
+        List<CaseSeriesPoint> points = new ArrayList<>(rangeTotals.points().size());
+        for (CaseTimeSeriesStore.RangePoint point : rangeTotals.points()) {
+            String label = switch (bucketSize) {
+                case WEEK -> String.format("%d-W%02d", point.year(), point.period());
+                case MONTH -> String.format("%d-%02d", point.year(), point.period());
+                case QUARTER -> point.year() + "-Q" + point.period();
+                case YEAR -> String.valueOf(point.year());
+            };
+            points.add(new CaseSeriesPoint(label, point.year(), point.period(), point.cases(), point.rows()));
+        }
+
+        return new CaseSeriesResponse(districtId, districtName, bucketSize.name(), points, rangeTotals.totalCases());
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.GRAPH_DISTRICT, keyGenerator = CacheConfig.GRAPH_KEY_GENERATOR)
     public List<DistrictTotalCasesResponse> getDistrictTotalCasesForLatestYear() {
-        // Step 1: Get the latest year
-        Integer latestYear = graphDataRepository.findMaxYear();
+        // Step 1: Get the latest year from the time-series store
+        Integer latestYear = caseTimeSeriesStore.latestYear();
         if (latestYear == null) {
             throw new APIException("No data available.");
         }
 
-        // Step 2: Fetch total dengue cases for each district
-        List<Object[]> results = graphDataRepository.getTotalCasesByDistrict(latestYear);
+        // Step 2: Read total dengue cases for each district in that year
+        Map<Long, Integer> districtCases = caseTimeSeriesStore.districtTotals(latestYear);
+
+        return toDistrictResponses(latestYear, districtCases);
+    }
 
-        // Step 3: Convert query result to DTO
+    private List<DistrictTotalCasesResponse> toDistrictResponses(Integer latestYear, Map<Long, Integer> districtCases) {
+        // Step 3: District names for the ranked totals; the districts table holds a few dozen rows
+        Map<Long, String> districtNames = new HashMap<>();
+        for (District district : districtRepository.findAllById(districtCases.keySet())) {
+            districtNames.put(district.getDistrictId(), district.getDistrictName());
+        }
+
+        // Step 4: Convert to DTOs, highest total first
         List<DistrictTotalCasesResponse> responseList = new ArrayList<>();
         long idCounter = 1; // Auto-incremented ID
 
-        for (Object[] row : results) {
-            String districtName = (String) row[0];     // District name
-            Integer totalCases = ((Number) row[1]).intValue(); // Total cases
-
-            responseList.add(new DistrictTotalCasesResponse(
-                    idCounter++,  // Auto-incremented ID
-                    districtName,
-                    latestYear,
-                    totalCases
-            ));
+        List<Map.Entry<Long, Integer>> ranked = districtCases.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed())
+                .toList();
+        for (Map.Entry<Long, Integer> entry : ranked) {
+            String districtName = districtNames.get(entry.getKey());
+            if (districtName == null)
+                continue;
+            responseList.add(new DistrictTotalCasesResponse(idCounter++, districtName, latestYear, entry.getValue()));
         }
 
         return responseList;
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.GRAPH_WEEKLY, keyGenerator = CacheConfig.GRAPH_KEY_GENERATOR)
     public List<WeeklyCasesResponse> getWeeklyCasesForLatestYear() {
         //Step 1: Find the latest year
-        Integer latestYear = graphDataRepository.findMaxYear();
+        Integer latestYear = caseTimeSeriesStore.latestYear();
         if (latestYear == null) {
             throw new APIException("No data available for the latest year.");
         }
 
-        //Step 2: Get weekly dengue cases summary
-        List<Object[]> weeklyCases = graphDataRepository.getWeeklyCasesSummary(latestYear);
+        //Step 2: Read the weekly totals (-1 marks weeks without data)
+        int[] weeklyCases = caseTimeSeriesStore.weeklyTotals(latestYear);
+
+        return toWeeklyResponses(latestYear, weeklyCases);
+    }
 
+    private List<WeeklyCasesResponse> toWeeklyResponses(Integer latestYear, int[] weeklyCases) {
         //Step 3: Convert results into DTOs
         List<WeeklyCasesResponse> responseList = new ArrayList<>();
         long idCounter = 1;
 
-        for (Object[] row : weeklyCases) {
-            Integer week = (Integer) row[0];
-            Integer totalCases = ((Number) row[1]).intValue();
+        for (int week = 1; week <= weeklyCases.length; week++) {
+            int totalCases = weeklyCases[week - 1];
+            if (totalCases < 0)
+                continue;
 
             WeeklyCasesResponse response = new WeeklyCasesResponse(
                     idCounter++,
@@ -216,22 +317,28 @@ public class GraphDataServiceImpl implements GraphDataService{
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.GRAPH_YEARLY, keyGenerator = CacheConfig.GRAPH_KEY_GENERATOR)
     public List<YearlyCasesResponse> getYearlyCases() {
-        //Step 1: Fetch yearly cases summary
-        List<Object[]> yearlyCases = graphDataRepository.getYearlyCasesSummary();
+        //Step 1: Read the yearly totals from the time-series store
+        CaseTimeSeriesStore.YearlyTotals yearlyCases = caseTimeSeriesStore.yearlyTotals();
 
+        return toYearlyResponses(yearlyCases);
+    }
+
+    private List<YearlyCasesResponse> toYearlyResponses(CaseTimeSeriesStore.YearlyTotals yearlyCases) {
         //Step 2: Convert results into DTOs
         List<YearlyCasesResponse> responseList = new ArrayList<>();
         long idCounter = 1;
 
-        for (Object[] row : yearlyCases) {
-            Integer year = (Integer) row[0];
-            Integer totalCases = ((Number) row[1]).intValue();
+        int[] cases = yearlyCases.cases();
+        for (int i = 0; i < cases.length; i++) {
+            if (cases[i] < 0)
+                continue;
 
             YearlyCasesResponse response = new YearlyCasesResponse(
                     idCounter++,
-                    year,
-                    totalCases
+                    yearlyCases.firstYear() + i,
+                    cases[i]
             );
 
             responseList.add(response);
@@ -241,7 +348,10 @@ public class GraphDataServiceImpl implements GraphDataService{
     }
 
     @Override
+    @Transactional
     public GraphDataDTO saveData(GraphDataDTO graphDataDTO) {
+        CaseYears.requireSupported(graphDataDTO.getCaseYear());
+
         District district = districtRepository.findById(graphDataDTO.getDistrictId())
                 .orElseThrow(() -> new ResourceNotFoundException("District", "districtId", graphDataDTO.getDistrictId()));
 
@@ -261,6 +371,7 @@ public class GraphDataServiceImpl implements GraphDataService{
 
         try {
             graphDataRepository.save(graphData);
+            applicationEventPublisher.publishEvent(GraphDataChangedEvent.created(snapshotOf(graphData)));
             return modelMapper.map(graphData, GraphDataDTO.class);
         } catch (DataIntegrityViolationException e) {
             throw new APIException("An error occurred while saving the graph data.");
@@ -268,32 +379,44 @@ public class GraphDataServiceImpl implements GraphDataService{
     }
 
     @Override
+    @Transactional
     public GraphDataDTO deleteData(Long graphDataId) {
         GraphData graphData = graphDataRepository.findById(graphDataId)
                 .orElseThrow(() -> new ResourceNotFoundException("GraphData", "graphDataId", graphDataId));
 
         graphDataRepository.delete(graphData);
+        applicationEventPublisher.publishEvent(GraphDataChangedEvent.deleted(snapshotOf(graphData)));
         return modelMapper.map(graphData, GraphDataDTO.class);
     }
 
     @Override
+    @Transactional
     public GraphDataDTO updateData(GraphDataDTO graphDataDTO, Long graphDataId) {
+        CaseYears.requireSupported(graphDataDTO.getCaseYear());
+
         GraphData graphDataFromDB = graphDataRepository.findById(graphDataId)
                 .orElseThrow(() -> new ResourceNotFoundException("GraphData", "graphDataId", graphDataId));
 
         District district = districtRepository.findById(graphDataDTO.getDistrictId())
                 .orElseThrow(() -> new ResourceNotFoundException("District", "districtId",graphDataDTO.getDistrictId()));
 
+        // save() merges into the managed row, so keep the old values for the change event
+        GraphDataDTO previous = snapshotOf(graphDataFromDB);
+
         GraphData graphData = modelMapper.map(graphDataDTO, GraphData.class);
         graphData.setGraphDataId(graphDataId);
         graphData.setDistrictName(district.getDistrictName());
         graphData.setDistrict(district);
         graphDataFromDB = graphDataRepository.save(graphData);
+        applicationEventPublisher.publishEvent(GraphDataChangedEvent.updated(previous, snapshotOf(graphDataFromDB)));
         return modelMapper.map(graphDataFromDB, GraphDataDTO.class);
     }
 
     @Override
-    public DatasetResponse getAllData(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+    public DatasetResponse getAllData(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String cursor) {
+        if (cursor != null)
+            return getAllDataByCursor(cursor, pageSize, sortBy, sortOrder);
+
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
 
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
@@ -319,6 +442,38 @@ public class GraphDataServiceImpl implements GraphDataService{
         return datasetResponse;
     }
 
+    private DatasetResponse getAllDataByCursor(String cursor, Integer pageSize, String sortBy, String sortOrder) {
+        if (!AppConstants.SORT_DATASET_BY.equals(sortBy))
+            throw new APIException("Cursor pagination is only supported when sorting by " + AppConstants.SORT_DATASET_BY);
+
+        boolean ascending = sortOrder.equalsIgnoreCase("asc");
+        Long lastId = KeysetCursor.decode(cursor, ascending);
+        Sort sortByAndOrder = ascending ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+
+        Pageable pageDetails = PageRequest.of(0, pageSize, sortByAndOrder);
+        Slice<GraphData> graphDataSlice = ascending
+                ? graphDataRepository.findByGraphDataIdGreaterThan(lastId == null ? 0L : lastId, pageDetails)
+                : graphDataRepository.findByGraphDataIdLessThan(lastId == null ? Long.MAX_VALUE : lastId, pageDetails);
+
+        List<GraphData> graphDataList = graphDataSlice.getContent();
+
+        if(graphDataList.isEmpty() && lastId == null)
+            throw new APIException("Data not exists");
+
+        List<GraphDataDTO> graphDataDTOS = graphDataList.stream()
+                .map(graphData -> modelMapper.map(graphData, GraphDataDTO.class))
+                .toList();
+
+        DatasetResponse datasetResponse = new DatasetResponse();
+        datasetResponse.setContent(graphDataDTOS);
+        datasetResponse.setPageSize(graphDataSlice.getSize());
+        datasetResponse.setLastPage(!graphDataSlice.hasNext());
+        if (graphDataSlice.hasNext())
+            datasetResponse.setNextCursor(KeysetCursor.encode(graphDataList.get(graphDataList.size() - 1).getGraphDataId(), ascending));
+
+        return datasetResponse;
+    }
+
     @Override
     public DatasetResponse searchDataByDistrictNameOrCaseYear(String input, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
@@ -333,7 +488,10 @@ public class GraphDataServiceImpl implements GraphDataService{
             graphDataPage = graphDataRepository.findByCaseYear(caseYear, pageDetails);
         } catch (NumberFormatException e) {
             // If not numeric, treat it as an District name search
-            graphDataPage = graphDataRepository.findByDistrict_DistrictNameContainingIgnoreCase(input, pageDetails);
+            Set<Long> districtIds = nameSearchIndex.districtIdsMatching(input);
+            graphDataPage = districtIds.isEmpty()
+                    ? Page.empty(pageDetails)
+                    : graphDataRepository.findByDistrict_DistrictIdIn(districtIds, pageDetails);
         }
 
         List<GraphData> graphDataList = graphDataPage.getContent();
@@ -355,5 +513,9 @@ public class GraphDataServiceImpl implements GraphDataService{
         return datasetResponse;
     }
 
-
+    private GraphDataDTO snapshotOf(GraphData graphData) {
+        Long districtId = graphData.getDistrict() == null ? null : graphData.getDistrict().getDistrictId();
+        return new GraphDataDTO(graphData.getGraphDataId(), graphData.getNumberOfCases(), graphData.getCaseMonth(),
+                graphData.getCaseYear(), graphData.getCaseWeek(), districtId);
+    }
 }
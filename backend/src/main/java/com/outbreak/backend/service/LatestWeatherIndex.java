@@ -0,0 +1,90 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.event.DistrictChangedEvent;
+import com.outbreak.backend.event.WeatherDataChangedEvent;
+import com.outbreak.backend.model.WeatherData;
+import com.outbreak.backend.repositories.PredictionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Latest WeatherData row per district, so the system prediction looks up its input in O(1) instead of
+ * sorting the district's weather history. Loaded in one query at startup (served by the composite
+ * index on weather_data), moved forward by saveWeatherData and reloaded after bulk imports.
+ */
+@Component
+public class LatestWeatherIndex {
+
+    @Autowired
+    PredictionRepository predictionRepository;
+
+    // Replaced wholesale on every change; reads never lock
+    private volatile Map<Long, WeatherData> latestByDistrict = Map.of();
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        Map<Long, WeatherData> latest = new HashMap<>();
+        for (WeatherData weatherData : predictionRepository.findLatestWeatherDataForAllDistricts()) {
+            latest.merge(weatherData.getDistrict().getDistrictId(), weatherData, LatestWeatherIndex::newer);
+        }
+        latestByDistrict = latest;
+        loaded = true;
+    }
+
+    // Bulk imports publish without a district; single inserts already moved the pointer through offer()
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeatherDataChanged(WeatherDataChangedEvent event) {
+        if (event.getDistrictId() == null)
+            invalidate();
+    }
+
+    // Cached weather rows carry the old district name
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDistrictChanged(DistrictChangedEvent event) {
+        if (event.changesExistingDistrict())
+            invalidate();
+    }
+
+    public Optional<WeatherData> latestFor(Long districtId) {
+        ensureLoaded();
+        return Optional.ofNullable(latestByDistrict.get(districtId));
+    }
+
+    public List<WeatherData> all() {
+        ensureLoaded();
+        return new ArrayList<>(latestByDistrict.values());
+    }
+
+    public synchronized void offer(WeatherData weatherData) {
+        if (!loaded || weatherData.getDistrict() == null)
+            return;
+        Map<Long, WeatherData> latest = new HashMap<>(latestByDistrict);
+        latest.merge(weatherData.getDistrict().getDistrictId(), weatherData, LatestWeatherIndex::newer);
+        latestByDistrict = latest;
+    }
+
+    public void invalidate() {
+        loaded = false;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded)
+            reload();
+    }
+
+    // Same order as the old per-request query: year, then month, then week
+    private static WeatherData newer(WeatherData current, WeatherData candidate) {
+        Comparator<WeatherData> byPeriod = Comparator.comparing(WeatherData::getPredictYear, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(WeatherData::getPredictMonth, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(WeatherData::getPredictWeek, Comparator.nullsFirst(Comparator.naturalOrder()));
+        return byPeriod.compare(candidate, current) > 0 ? candidate : current;
+    }
+}
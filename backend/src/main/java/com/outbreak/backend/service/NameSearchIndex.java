@@ -0,0 +1,259 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.event.DistrictChangedEvent;
+import com.outbreak.backend.event.DivisionChangedEvent;
+import com.outbreak.backend.model.District;
+import com.outbreak.backend.model.Division;
+import com.outbreak.backend.payload.NameSuggestionDTO;
+import com.outbreak.backend.repositories.DistrictRepository;
+import com.outbreak.backend.repositories.DivisionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * In-memory trigram index over district and division names. Name searches resolve to ids here and
+ * then hit the fact tables through indexed district_id / division_id lookups instead of LIKE '%x%' scans.
+ */
+@Component
+public class NameSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(NameSearchIndex.class);
+
+    public static final String DISTRICT = "DISTRICT";
+    public static final String DIVISION = "DIVISION";
+
+    private static final int GRAM = 3;
+    // Minimum Dice similarity for a fuzzy (misspelt) autocomplete suggestion
+    private static final double FUZZY_THRESHOLD = 0.4;
+
+    @Autowired
+    DistrictRepository districtRepository;
+    @Autowired
+    DivisionRepository divisionRepository;
+
+    // Replaced wholesale on rebuild; null means stale
+    private volatile Snapshot snapshot;
+
+    private record Entry(String type, Long id, String name, String key, Long districtId, String districtName) {
+    }
+
+    private record Snapshot(Entry[] entries, Map<String, int[]> postings) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        snapshot = build();
+    }
+
+    // Called after district or division writes; the next lookup rebuilds
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDistrictChanged(DistrictChangedEvent event) {
+        invalidate();
+    }
+
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDivisionChanged(DivisionChangedEvent event) {
+        invalidate();
+    }
+
+    public Set<Long> districtIdsMatching(String query) {
+        return idsMatching(query, DISTRICT);
+    }
+
+    public Set<Long> divisionIdsMatching(String query) {
+        return idsMatching(query, DIVISION);
+    }
+
+    public List<NameSuggestionDTO> suggest(String query, int limit) {
+        Snapshot current = current();
+        String key = normalise(query);
+        if (key.isEmpty() || limit <= 0)
+            return List.of();
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (int index : substringMatches(current, key)) {
+            scores.put(index, rank(current.entries[index], query, key));
+        }
+
+        // Fall back to trigram overlap so that misspellings still produce suggestions
+        if (scores.size() < limit && key.length() >= GRAM) {
+            List<String> grams = trigrams(key);
+            Map<Integer, Integer> common = new HashMap<>();
+            for (String gram : new HashSet<>(grams)) {
+                for (int index : current.postings.getOrDefault(gram, new int[0])) {
+                    common.merge(index, 1, Integer::sum);
+                }
+            }
+            int queryGrams = new HashSet<>(grams).size();
+            common.forEach((index, shared) -> {
+                int entryGrams = new HashSet<>(trigrams(current.entries[index].key)).size();
+                double dice = 2.0 * shared / (queryGrams + entryGrams);
+                if (dice >= FUZZY_THRESHOLD)
+                    scores.putIfAbsent(index, dice);
+            });
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Integer, Double>>comparingDouble(Map.Entry::getValue).reversed()
+                        .thenComparing(e -> current.entries[e.getKey()].name.length())
+                        .thenComparing(e -> current.entries[e.getKey()].name))
+                .limit(limit)
+                .map(e -> {
+                    Entry entry = current.entries[e.getKey()];
+                    return new NameSuggestionDTO(entry.type, entry.id, entry.name, entry.districtId,
+                            entry.districtName, Math.round(e.getValue() * 1000) / 1000.0);
+                })
+                .toList();
+    }
+
+    private Set<Long> idsMatching(String query, String type) {
+        Snapshot current = current();
+        String key = normalise(query);
+        Set<Long> ids = new LinkedHashSet<>();
+        if (key.isEmpty())
+            return ids;
+
+        for (int index : substringMatches(current, key)) {
+            Entry entry = current.entries[index];
+            if (entry.type.equals(type))
+                ids.add(entry.id);
+        }
+        return ids;
+    }
+
+    // Entries whose normalised name contains the normalised query, like the old LIKE '%x%'
+    private List<Integer> substringMatches(Snapshot current, String key) {
+        List<Integer> matches = new ArrayList<>();
+        if (key.length() < GRAM) {
+            // Too short for a trigram; the name list is small enough to scan
+            for (int i = 0; i < current.entries.length; i++) {
+                if (current.entries[i].key.contains(key))
+                    matches.add(i);
+            }
+            return matches;
+        }
+
+        int[] candidates = null;
+        for (String gram : trigrams(key)) {
+            int[] posting = current.postings.get(gram);
+            if (posting == null)
+                return matches;
+            candidates = candidates == null ? posting : intersect(candidates, posting);
+            if (candidates.length == 0)
+                return matches;
+        }
+        // Trigrams can all occur without being contiguous, so confirm the substring
+        for (int index : candidates) {
+            if (current.entries[index].key.contains(key))
+                matches.add(index);
+        }
+        return matches;
+    }
+
+    private double rank(Entry entry, String query, String key) {
+        double score;
+        if (entry.key.equals(key))
+            score = 4.0;
+        else if (entry.key.startsWith(key))
+            score = 3.0;
+        else if (entry.name.toLowerCase(Locale.ROOT).contains(" " + query.trim().toLowerCase(Locale.ROOT)))
+            score = 2.0;
+        else
+            score = 1.0;
+        // Districts ahead of divisions with the same match quality
+        return entry.type.equals(DISTRICT) ? score + 0.5 : score;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null)
+                    snapshot = current = build();
+            }
+        }
+        return current;
+    }
+
+    private Snapshot build() {
+        List<Entry> entries = new ArrayList<>();
+        for (District district : districtRepository.findAll()) {
+            if (district.getDistrictName() != null)
+                entries.add(new Entry(DISTRICT, district.getDistrictId(), district.getDistrictName(),
+                        normalise(district.getDistrictName()), district.getDistrictId(), district.getDistrictName()));
+        }
+        for (Division division : divisionRepository.findAllWithDistrict()) {
+            if (division.getDivisionName() == null)
+                continue;
+            District district = division.getDistrict();
+            entries.add(new Entry(DIVISION, division.getDivisionId(), division.getDivisionName(),
+                    normalise(division.getDivisionName()),
+                    district == null ? null : district.getDistrictId(),
+                    district == null ? null : district.getDistrictName()));
+        }
+
+        Map<String, List<Integer>> lists = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            for (String gram : new HashSet<>(trigrams(entries.get(i).key))) {
+                lists.computeIfAbsent(gram, g -> new ArrayList<>()).add(i);
+            }
+        }
+        // Posting lists are built in entry order, so they are already sorted for intersection
+        Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+        lists.forEach((gram, list) -> postings.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        logger.info("Built name search index: {} names, {} trigrams", entries.size(), postings.size());
+        return new Snapshot(entries.toArray(new Entry[0]), postings);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static List<String> trigrams(String key) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // Case, spaces and punctuation are ignored, so "nuwaraeliya" finds "Nuwara Eliya"
+    private static String normalise(String name) {
+        if (name == null)
+            return "";
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c))
+                key.append(Character.toLowerCase(c));
+        }
+        return key.toString();
+    }
+}
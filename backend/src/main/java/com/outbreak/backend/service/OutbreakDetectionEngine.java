@@ -0,0 +1,249 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.event.GraphDataChangedEvent;
+import com.outbreak.backend.model.District;
+import com.outbreak.backend.payload.AlertDTO;
+import com.outbreak.backend.payload.GraphDataDTO;
+import com.outbreak.backend.repositories.DistrictRepository;
+import com.outbreak.backend.service.DataVersionTracker.DataAggregate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches each district's weekly case series and raises an Alert when a new week breaks out of its
+ * recent baseline. Two detectors run side by side on O(1) state per district:
+ * an EWMA mean/variance band (sudden spikes) and a one-sided CUSUM (sustained rises).
+ *
+ * Missing weeks are not imputed: a gap of up to maxGapWeeks (which covers the unused 53rd week slot at a
+ * year end) is treated as if the weeks were adjacent. A longer gap restarts the warm-up, so a district
+ * that stopped reporting for months is not judged against the baseline from before it went quiet.
+ */
+@Component
+public class OutbreakDetectionEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutbreakDetectionEngine.class);
+
+    static final String OUTBREAK_ALERT = "Outbreak Alert";
+    static final String CRITICAL_ALERT = "Critical Alert";
+    static final String HIGH_RISK = "High Risk";
+
+    @Autowired
+    CaseTimeSeriesStore caseTimeSeriesStore;
+    @Autowired
+    DistrictRepository districtRepository;
+    @Autowired
+    AlertService alertService;
+    @Autowired
+    DataVersionTracker dataVersionTracker;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${outbreak.detection.enabled:true}")
+    private boolean enabled;
+    // Smoothing factor of the EWMA baseline; 0.2 weighs roughly the last ten weeks
+    @Value("${outbreak.detection.alpha:0.2}")
+    private double alpha;
+    // Standard deviations above the EWMA baseline that count as a spike
+    @Value("${outbreak.detection.zThreshold:3.0}")
+    private double zThreshold;
+    @Value("${outbreak.detection.criticalZ:5.0}")
+    private double criticalZ;
+    // CUSUM slack (k) and decision limit (h), both in standard deviations
+    @Value("${outbreak.detection.cusumSlack:0.5}")
+    private double cusumSlack;
+    @Value("${outbreak.detection.cusumLimit:5.0}")
+    private double cusumLimit;
+    @Value("${outbreak.detection.warmupWeeks:8}")
+    private int warmupWeeks;
+    // Weeks with fewer cases never alert, however unusual they are for a quiet district
+    @Value("${outbreak.detection.minCases:10}")
+    private int minCases;
+    @Value("${outbreak.detection.cooldownWeeks:4}")
+    private int cooldownWeeks;
+    @Value("${outbreak.detection.maxGapWeeks:8}")
+    private int maxGapWeeks;
+
+    private final Map<Long, DetectorState> states = new ConcurrentHashMap<>();
+    private volatile boolean warmed;
+
+    record Signal(String alertType, double zScore, double cusum, double baseline) {
+    }
+
+    final class DetectorState {
+        int lastWeekIndex = Integer.MIN_VALUE;
+        int lastAlertWeekIndex = Integer.MIN_VALUE;
+        int weeksSeen;
+        double mean;
+        double variance;
+        double cusum;
+        // Set when a past week changed; the state is replayed from the store before the next use
+        boolean stale;
+
+        Signal observe(int weekIndex, int cases) {
+            if (weeksSeen > 0 && weekIndex - lastWeekIndex - 1 > maxGapWeeks)
+                restart();
+
+            Signal signal = null;
+            if (weeksSeen == 0) {
+                mean = cases;
+            } else {
+                double sd = Math.max(Math.sqrt(variance), 1.0);
+                double z = (cases - mean) / sd;
+                // The variance starts at zero, so z is meaningless until the warm-up is over
+                cusum = weeksSeen >= warmupWeeks ? Math.max(0.0, cusum + z - cusumSlack) : 0.0;
+
+                boolean armed = weeksSeen >= warmupWeeks && cases >= minCases
+                        && weekIndex - lastAlertWeekIndex > cooldownWeeks;
+                if (armed && (z >= zThreshold || cusum >= cusumLimit)) {
+                    String type = z >= criticalZ ? CRITICAL_ALERT : z >= zThreshold ? OUTBREAK_ALERT : HIGH_RISK;
+                    signal = new Signal(type, z, cusum, mean);
+                    lastAlertWeekIndex = weekIndex;
+                    cusum = 0.0;
+                }
+
+                // West's incremental EWMA mean and variance
+                double diff = cases - mean;
+                mean += alpha * diff;
+                variance = (1 - alpha) * (variance + alpha * diff * diff);
+            }
+            weeksSeen++;
+            lastWeekIndex = weekIndex;
+            return signal;
+        }
+
+        // Forgets the baseline but keeps lastAlertWeekIndex, so the cooldown still applies
+        void restart() {
+            weeksSeen = 0;
+            mean = 0.0;
+            variance = 0.0;
+            cusum = 0.0;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled)
+            return;
+        rebuildAll();
+        warmed = true;
+    }
+
+    // After the time-series store, the cache evictor and the version tracker
+    @Order(3)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGraphDataChanged(GraphDataChangedEvent event) {
+        if (!enabled || !warmed)
+            return;
+
+        if (event.isReload()) {
+            rebuildAll();
+            return;
+        }
+
+        GraphDataDTO previous = event.getPrevious();
+        GraphDataDTO current = event.getCurrent();
+        if (previous != null)
+            markStale(previous.getDistrictId());
+
+        if (current == null || current.getDistrictId() == null || current.getCaseYear() == null || current.getCaseWeek() == null)
+            return;
+
+        DetectorState state = states.computeIfAbsent(current.getDistrictId(), id -> new DetectorState());
+        Signal signal;
+        synchronized (state) {
+            int weekIndex = weekIndex(current.getCaseYear(), current.getCaseWeek());
+            if (previous != null || state.stale || weekIndex <= state.lastWeekIndex) {
+                // An edit or a back-filled week: replay this district rather than alert on old data
+                replay(current.getDistrictId(), state);
+                return;
+            }
+            signal = state.observe(weekIndex, current.getNumberOfCases() == null ? 0 : current.getNumberOfCases());
+        }
+
+        if (signal != null)
+            raiseAlert(current, signal);
+    }
+
+    private void raiseAlert(GraphDataDTO row, Signal signal) {
+        String description = String.format(
+                "Automatic detection: %d cases in week %d of %d against a baseline of %.1f (z = %.1f, CUSUM = %.1f).",
+                row.getNumberOfCases(), row.getCaseWeek(), row.getCaseYear(), signal.baseline(), signal.zScore(), signal.cusum());
+        AlertDTO alertDTO = new AlertDTO(null, signal.alertType(), description, row.getDistrictId(), null);
+
+        // This runs after the GraphData transaction committed, so the alert needs a transaction of its own
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.executeWithoutResult(status -> alertService.createAlert(alertDTO, row.getDistrictId()));
+            dataVersionTracker.bump(DataAggregate.ALERTS);
+            logger.info("Raised '{}' for district {} in week {}/{}", signal.alertType(), row.getDistrictId(),
+                    row.getCaseWeek(), row.getCaseYear());
+        } catch (RuntimeException e) {
+            // Detection must never fail the data entry that triggered it
+            logger.warn("Could not raise automatic alert for district {}: {}", row.getDistrictId(), e.getMessage());
+        }
+    }
+
+    private void markStale(Long districtId) {
+        if (districtId == null)
+            return;
+        DetectorState state = states.get(districtId);
+        if (state != null) {
+            synchronized (state) {
+                state.stale = true;
+            }
+        }
+    }
+
+    private void rebuildAll() {
+        long startedAt = System.nanoTime();
+        for (District district : districtRepository.findAll()) {
+            DetectorState state = states.computeIfAbsent(district.getDistrictId(), id -> new DetectorState());
+            synchronized (state) {
+                replay(district.getDistrictId(), state);
+            }
+        }
+        logger.info("Outbreak detection state rebuilt for {} districts in {} ms", states.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    // Re-derives the state from the full history without raising alerts for past weeks
+    private void replay(Long districtId, DetectorState state) {
+        List<GraphDataDTO> rows = new ArrayList<>(caseTimeSeriesStore.rowsForDistricts(List.of(districtId)));
+        rows.sort(Comparator.comparing(GraphDataDTO::getCaseYear).thenComparing(GraphDataDTO::getCaseWeek));
+
+        DetectorState fresh = new DetectorState();
+        for (GraphDataDTO row : rows) {
+            // Same mapping as the incremental path: a row without a count is a week with no cases
+            fresh.observe(weekIndex(row.getCaseYear(), row.getCaseWeek()),
+                    row.getNumberOfCases() == null ? 0 : row.getNumberOfCases());
+        }
+        state.lastWeekIndex = fresh.lastWeekIndex;
+        state.weeksSeen = fresh.weeksSeen;
+        state.mean = fresh.mean;
+        state.variance = fresh.variance;
+        state.cusum = fresh.cusum;
+        state.lastAlertWeekIndex = Math.max(state.lastAlertWeekIndex, fresh.lastAlertWeekIndex);
+        state.stale = false;
+    }
+
+    private static int weekIndex(int year, int week) {
+        return year * CaseTimeSeriesStore.WEEKS_PER_YEAR + week;
+    }
+}
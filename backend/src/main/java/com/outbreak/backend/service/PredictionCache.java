@@ -0,0 +1,158 @@
+package com.outbreak.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.outbreak.backend.event.DistrictChangedEvent;
+import com.outbreak.backend.model.WeatherData;
+import com.outbreak.backend.payload.PredictionResponseDTO;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of model outputs. The model is a pure function of its inputs, so a prediction is keyed on
+ * the district, the full weather feature vector and the model version. Concurrent misses for the same key
+ * share one in-flight model call.
+ */
+@Component
+public class PredictionCache {
+
+    public static final String CACHE_NAME = "predictions";
+
+    @Value("${outbreak.prediction.cache.maximumSize:10000}")
+    private long maximumSize;
+    @Value("${outbreak.prediction.cache.ttl:PT24H}")
+    private Duration ttl;
+    // Bump when the model pickle behind the FastAPI server is replaced
+    @Value("${outbreak.prediction.modelVersion:1}")
+    private String modelVersion;
+
+    private Cache<PredictionKey, PredictionResponseDTO> cache;
+    private final ConcurrentHashMap<PredictionKey, CompletableFuture<PredictionResponseDTO>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong modelCalls = new AtomicLong();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+    // Changes on every invalidation so a call that started before it does not cache its stale result
+    private final AtomicLong generation = new AtomicLong();
+
+    public record PredictionKey(Long districtId, Integer month, Integer year, Integer week,
+                                Integer maxTemp, Integer minTemp, Integer rain, Integer wind, Integer gust,
+                                Integer weatherCode, String modelVersion) {
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public PredictionKey keyOf(Long districtId, WeatherData weatherData) {
+        return new PredictionKey(districtId, weatherData.getPredictMonth(), weatherData.getPredictYear(),
+                weatherData.getPredictWeek(), weatherData.getAvgMaxTemp(), weatherData.getAvgMinTemp(),
+                weatherData.getTotalPrecipitation(), weatherData.getAvgWindSpeed(), weatherData.getMaxWindGusts(),
+                weatherData.getWeatherCode(), modelVersion);
+    }
+
+    public PredictionResponseDTO get(PredictionKey key, Supplier<PredictionResponseDTO> loader) {
+        PredictionResponseDTO cached = cache.getIfPresent(key);
+        if (cached != null)
+            return cached;
+
+        CompletableFuture<PredictionResponseDTO> flight = new CompletableFuture<>();
+        CompletableFuture<PredictionResponseDTO> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalescedCalls.incrementAndGet();
+            return await(existing);
+        }
+
+        // This caller leads; the model call runs outside any cache lock so a slow call never blocks other keys
+        long startedGeneration = generation.get();
+        try {
+            modelCalls.incrementAndGet();
+            PredictionResponseDTO loaded = loader.get();
+            if (loaded != null && loaded.getPredictedCases() != null && generation.get() == startedGeneration)
+                cache.put(key, loaded);
+            flight.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private PredictionResponseDTO await(CompletableFuture<PredictionResponseDTO> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Followers see the same exception as the leader, e.g. 503 while the breaker is open
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    public void invalidateDistrict(Long districtId) {
+        generation.incrementAndGet();
+        inFlight.keySet().removeIf(key -> key.districtId().equals(districtId));
+        cache.asMap().keySet().removeIf(key -> key.districtId().equals(districtId));
+        invalidations.incrementAndGet();
+    }
+
+    // The model is called with the district name
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDistrictChanged(DistrictChangedEvent event) {
+        if (event.changesExistingDistrict())
+            invalidateDistrict(event.getDistrictId());
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        inFlight.clear();
+        cache.invalidateAll();
+        invalidations.incrementAndGet();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    public long getModelCalls() {
+        return modelCalls.get();
+    }
+
+    public long getCoalescedCalls() {
+        return coalescedCalls.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+}
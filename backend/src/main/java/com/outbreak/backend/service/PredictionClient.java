@@ -0,0 +1,249 @@
+package com.outbreak.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.outbreak.backend.exceptions.APIException;
+import com.outbreak.backend.exceptions.ServiceUnavailableException;
+import com.outbreak.backend.payload.PredictionResponseDTO;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shared client for the FastAPI model server. One pooled, keep-alive HttpClient for the whole application,
+ * an overall deadline per prediction, jittered retries for transient failures, a cap on calls in flight
+ * and a circuit breaker that fails fast while the model server is down.
+ */
+@Component
+public class PredictionClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionClient.class);
+
+    public enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    // e.g. "app;dur=12.5" as written by the FastAPI middleware
+    private static final Pattern SERVER_TIMING = Pattern.compile("app;dur=([0-9.]+)");
+
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    PredictionMetrics predictionMetrics;
+
+    @Value("${outbreak.prediction.url:http://localhost:8000/predict/}")
+    private String predictUrl;
+    @Value("${outbreak.prediction.connectTimeout:PT2S}")
+    private Duration connectTimeout;
+    // Upper bound for one prediction including all retries
+    @Value("${outbreak.prediction.deadline:PT10S}")
+    private Duration defaultDeadline;
+    @Value("${outbreak.prediction.maxAttempts:3}")
+    private int maxAttempts;
+    @Value("${outbreak.prediction.retryBackoff:PT0.2S}")
+    private Duration retryBackoff;
+    // Requests beyond this many concurrent predictions are rejected instead of queuing Tomcat threads
+    @Value("${outbreak.prediction.maxInFlight:32}")
+    private int maxInFlight;
+    @Value("${outbreak.prediction.breaker.failureThreshold:5}")
+    private int failureThreshold;
+    @Value("${outbreak.prediction.breaker.openDuration:PT30S}")
+    private Duration openDuration;
+
+    private HttpClient httpClient;
+    private Semaphore inFlight;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInProgress = new AtomicBoolean();
+    private volatile long openUntil;
+
+    @PostConstruct
+    void init() {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        inFlight = new Semaphore(maxInFlight);
+    }
+
+    public PredictionResponseDTO predict(Map<String, Object> features) {
+        return predict(features, defaultDeadline);
+    }
+
+    public PredictionResponseDTO predict(Map<String, Object> features, Duration deadline) {
+        long deadlineAt = System.nanoTime() + deadline.toNanos();
+        boolean trial = acquirePermission();
+
+        if (!inFlight.tryAcquire()) {
+            if (trial)
+                trialInProgress.set(false);
+            throw new ServiceUnavailableException("Prediction service is busy, please retry shortly", 1);
+        }
+        try {
+            PredictionResponseDTO response = callWithRetry(serialise(features), deadlineAt);
+            onSuccess();
+            return response;
+        } catch (ServiceUnavailableException e) {
+            onFailure();
+            throw e;
+        } catch (APIException e) {
+            // The model server answered, so it is up even though it rejected the input
+            onSuccess();
+            throw e;
+        } finally {
+            inFlight.release();
+            if (trial)
+                trialInProgress.set(false);
+        }
+    }
+
+    public CircuitState getCircuitState() {
+        if (openUntil == 0)
+            return CircuitState.CLOSED;
+        return System.currentTimeMillis() < openUntil ? CircuitState.OPEN : CircuitState.HALF_OPEN;
+    }
+
+    private PredictionResponseDTO callWithRetry(String body, long deadlineAt) {
+        for (int attempt = 1; ; attempt++) {
+            long remaining = deadlineAt - System.nanoTime();
+            if (remaining <= 0)
+                throw new ServiceUnavailableException("Prediction service did not answer in time", retryAfterSeconds());
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(predictUrl))
+                    .timeout(Duration.ofNanos(remaining))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+
+            String failure = null;
+            HttpResponse<String> response = null;
+            long attemptStartedAt = System.nanoTime();
+            // The body handler is invoked once the status line and headers are in, which marks the first byte
+            AtomicLong headersAt = new AtomicLong();
+            HttpResponse.BodyHandler<String> bodyHandler = responseInfo -> {
+                headersAt.set(System.nanoTime());
+                return HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+            };
+            try {
+                response = httpClient.send(request, bodyHandler);
+            } catch (HttpTimeoutException e) {
+                predictionMetrics.recordAttempt("timeout", e.getClass().getSimpleName(), attemptStartedAt);
+                failure = "timed out";
+            } catch (IOException e) {
+                predictionMetrics.recordAttempt("io_error", e.getClass().getSimpleName(), attemptStartedAt);
+                failure = e.getClass().getSimpleName() + ": " + e.getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Prediction was interrupted", 1);
+            }
+
+            // Only transport failures above are retried; whatever the server answered is handled here
+            if (response != null) {
+                recordResponse(response, body, attemptStartedAt, headersAt.get());
+                int status = response.statusCode();
+                if (status >= 200 && status < 300)
+                    return decode(response.body());
+                if (status != 502 && status != 503 && status != 504)
+                    // The model rejected this input; retrying the same features would fail the same way
+                    throw new APIException("Prediction failed (" + status + "): " + response.body());
+                failure = "HTTP " + status;
+            }
+
+            if (attempt >= maxAttempts)
+                throw new ServiceUnavailableException("Prediction service unavailable (" + failure + ")", retryAfterSeconds());
+
+            // Full jitter: a random pause up to base * 2^(attempt-1), never past the deadline
+            long ceiling = retryBackoff.toMillis() << (attempt - 1);
+            long pause = Math.min(ThreadLocalRandom.current().nextLong(ceiling + 1), (deadlineAt - System.nanoTime()) / 1_000_000);
+            logger.debug("Prediction attempt {} failed ({}), retrying in {} ms", attempt, failure, pause);
+            if (pause > 0) {
+                try {
+                    Thread.sleep(pause);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ServiceUnavailableException("Prediction was interrupted", 1);
+                }
+            }
+        }
+    }
+
+    // A malformed success body would be just as malformed on a retry
+    private PredictionResponseDTO decode(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, PredictionResponseDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new APIException("Prediction service returned an unreadable response: " + e.getOriginalMessage());
+        }
+    }
+
+    private void recordResponse(HttpResponse<String> response, String requestBody, long startedAt, long headersAt) {
+        predictionMetrics.recordAttempt("HTTP " + response.statusCode(), "none", startedAt);
+        if (headersAt != 0)
+            predictionMetrics.recordTimeToFirstByte(headersAt - startedAt);
+        predictionMetrics.recordPayloadSizes(requestBody.getBytes(StandardCharsets.UTF_8).length,
+                response.body() == null ? 0 : response.body().getBytes(StandardCharsets.UTF_8).length);
+
+        response.headers().firstValue("Server-Timing").ifPresent(serverTiming -> {
+            Matcher matcher = SERVER_TIMING.matcher(serverTiming);
+            if (matcher.find())
+                predictionMetrics.recordServerTime(Double.parseDouble(matcher.group(1)));
+        });
+    }
+
+    // Returns true when this call is the single trial request let through a half-open breaker
+    private boolean acquirePermission() {
+        long until = openUntil;
+        if (until == 0)
+            return false;
+        if (System.currentTimeMillis() < until || !trialInProgress.compareAndSet(false, true))
+            throw new ServiceUnavailableException("Prediction service is unavailable, please retry later", retryAfterSeconds());
+        return true;
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (openUntil != 0) {
+            openUntil = 0;
+            logger.info("Prediction circuit closed");
+        }
+    }
+
+    private void onFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold || openUntil != 0) {
+            openUntil = System.currentTimeMillis() + openDuration.toMillis();
+            logger.warn("Prediction circuit opened for {} after {} consecutive failures", openDuration, consecutiveFailures.get());
+        }
+    }
+
+    private long retryAfterSeconds() {
+        long until = openUntil;
+        long millis = until == 0 ? openDuration.toMillis() : until - System.currentTimeMillis();
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    private String serialise(Map<String, Object> features) {
+        try {
+            return objectMapper.writeValueAsString(features);
+        } catch (JsonProcessingException e) {
+            throw new APIException("Could not encode prediction request: " + e.getOriginalMessage());
+        }
+    }
+}
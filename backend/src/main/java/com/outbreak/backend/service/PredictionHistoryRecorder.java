@@ -0,0 +1,117 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.model.WeatherData;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records every served prediction without putting a database write on the request path. Records go
+ * into a bounded queue and are flushed with JDBC batch inserts; when the queue is full new records are
+ * dropped and counted rather than slowing callers down.
+ */
+@Component
+public class PredictionHistoryRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionHistoryRecorder.class);
+
+    public static final String SOURCE_SYSTEM = "SYSTEM";
+    public static final String SOURCE_ON_DEMAND = "ON_DEMAND";
+    public static final String SOURCE_BATCH = "BATCH";
+
+    private static final String INSERT_RECORD =
+            "INSERT INTO prediction_record (district_id, predict_year, predict_month, predict_week, avg_max_temp, " +
+            "avg_min_temp, total_precipitation, avg_wind_speed, max_wind_gusts, weather_code, predicted_cases, " +
+            "model_version, latency_micros, horizon_weeks, source, served_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Value("${outbreak.prediction.history.enabled:true}")
+    private boolean enabled;
+    @Value("${outbreak.prediction.history.batchSize:500}")
+    private int batchSize;
+
+    private final BlockingQueue<Object[]> queue;
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public PredictionHistoryRecorder(@Value("${outbreak.prediction.history.queueCapacity:10000}") int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public void record(Long districtId, WeatherData weatherData, Double predictedCases, String modelVersion,
+                       long startedAtNanos, String source) {
+        if (!enabled || predictedCases == null)
+            return;
+
+        long latencyMicros = (System.nanoTime() - startedAtNanos) / 1_000;
+        LocalDateTime servedAt = LocalDateTime.now();
+        Object[] row = {districtId, weatherData.getPredictYear(), weatherData.getPredictMonth(),
+                weatherData.getPredictWeek(), weatherData.getAvgMaxTemp(), weatherData.getAvgMinTemp(),
+                weatherData.getTotalPrecipitation(), weatherData.getAvgWindSpeed(), weatherData.getMaxWindGusts(),
+                weatherData.getWeatherCode(), predictedCases, modelVersion, latencyMicros,
+                horizonWeeks(servedAt.toLocalDate(), weatherData.getPredictYear(), weatherData.getPredictWeek()),
+                source, Timestamp.valueOf(servedAt)};
+
+        if (!queue.offer(row))
+            dropped.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${outbreak.prediction.history.flushInterval:PT1S}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_RECORD, batch);
+                recorded.addAndGet(batch.size());
+            } catch (DataAccessException e) {
+                dropped.addAndGet(batch.size());
+                logger.warn("Dropped {} prediction history records: {}", batch.size(), e.getMostSpecificCause().getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    public long getRecorded() {
+        return recorded.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private Integer horizonWeeks(LocalDate servedOn, Integer year, Integer week) {
+        if (year == null || week == null)
+            return null;
+        // Weeks 1..53 of the calendar year, the same slots the case time series uses
+        int servedWeek = servedOn.get(ChronoField.ALIGNED_WEEK_OF_YEAR);
+        return weekIndex(year, week) - weekIndex(servedOn.getYear(), servedWeek);
+    }
+
+    private static int weekIndex(int year, int week) {
+        return year * CaseTimeSeriesStore.WEEKS_PER_YEAR + week;
+    }
+}
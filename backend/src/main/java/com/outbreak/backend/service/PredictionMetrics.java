@@ -0,0 +1,100 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.exceptions.APIException;
+import com.outbreak.backend.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the prediction path, published under /actuator/metrics/outbreak.prediction.*.
+ * Stage timers split a prediction into its database lookups and the model call; the HTTP meters split
+ * the model call into time on the wire and time spent inside the FastAPI server.
+ */
+@Component
+public class PredictionMetrics {
+
+    public static final String STAGE_DISTRICT_LOOKUP = "district_lookup";
+    public static final String STAGE_WEATHER_LOOKUP = "weather_lookup";
+    public static final String STAGE_STORED_RESULT = "stored_result";
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    public <T> T timeStage(String stage, Supplier<T> work) {
+        return histogram(Timer.builder("outbreak.prediction.stage")
+                .description("Time spent in each step of serving a prediction")
+                .tag("stage", stage))
+                .register(meterRegistry)
+                .record(work);
+    }
+
+    // One call to the model including retries, tagged by district and how it ended
+    public void recordPrediction(String district, long startedAtNanos, RuntimeException failure) {
+        histogram(Timer.builder("outbreak.prediction.call")
+                .description("Model predictions by district and outcome")
+                .tag("district", district == null ? "unknown" : district)
+                .tag("outcome", outcome(failure))
+                .tag("exception", failure == null ? "none" : failure.getClass().getSimpleName()))
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startedAtNanos));
+    }
+
+    // A single HTTP attempt; exception is the IO failure class, or "none" when a status code came back
+    public void recordAttempt(String outcome, String exception, long startedAtNanos) {
+        histogram(Timer.builder("outbreak.prediction.http.attempt")
+                .description("Individual HTTP attempts against the model server")
+                .tag("outcome", outcome)
+                .tag("exception", exception))
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - startedAtNanos));
+    }
+
+    public void recordTimeToFirstByte(long nanos) {
+        histogram(Timer.builder("outbreak.prediction.http.ttfb")
+                .description("From sending the request until the response headers arrived"))
+                .register(meterRegistry)
+                .record(Duration.ofNanos(nanos));
+    }
+
+    // Reported by the model server itself in its Server-Timing header
+    public void recordServerTime(double millis) {
+        histogram(Timer.builder("outbreak.prediction.http.server")
+                .description("Time the model server spent handling the request"))
+                .register(meterRegistry)
+                .record(Duration.ofNanos((long) (millis * 1_000_000)));
+    }
+
+    public void recordPayloadSizes(long requestBytes, long responseBytes) {
+        DistributionSummary.builder("outbreak.prediction.http.payload")
+                .baseUnit("bytes")
+                .tag("direction", "request")
+                .register(meterRegistry)
+                .record(requestBytes);
+        DistributionSummary.builder("outbreak.prediction.http.payload")
+                .baseUnit("bytes")
+                .tag("direction", "response")
+                .register(meterRegistry)
+                .record(responseBytes);
+    }
+
+    private Timer.Builder histogram(Timer.Builder builder) {
+        return builder.publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram();
+    }
+
+    private String outcome(RuntimeException failure) {
+        if (failure == null)
+            return "success";
+        if (failure instanceof ServiceUnavailableException)
+            return "unavailable";
+        if (failure instanceof APIException)
+            return "rejected";
+        return "error";
+    }
+}
@@ -0,0 +1,70 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.event.DistrictChangedEvent;
+import com.outbreak.backend.event.WeatherDataChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Computes the system prediction for every district once per new weather row, so dashboard loads read a
+ * stored result instead of calling the model server. Runs on a fixed delay but only does work after
+ * weather data changed, and once at startup to fill in rows missing for the current model version.
+ */
+@Component
+public class PredictionPrecomputeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionPrecomputeJob.class);
+
+    @Autowired
+    PredictionService predictionService;
+
+    @Value("${outbreak.prediction.precompute.enabled:true}")
+    private boolean enabled;
+
+    private final AtomicBoolean pending = new AtomicBoolean(true);
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWeatherDataChanged(WeatherDataChangedEvent event) {
+        pending.set(true);
+    }
+
+    // A rename drops the district's stored predictions, which the next run recomputes under the new name
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDistrictChanged(DistrictChangedEvent event) {
+        if (event.getChange() == DistrictChangedEvent.Change.RENAMED)
+            pending.set(true);
+    }
+
+    @Scheduled(initialDelayString = "${outbreak.prediction.precompute.initialDelay:PT30S}",
+            fixedDelayString = "${outbreak.prediction.precompute.interval:PT1M}")
+    public void run() {
+        if (!enabled || !pending.getAndSet(false))
+            return;
+
+        PredictionService.PrecomputeResult result;
+        try {
+            result = predictionService.precomputeLatestPredictions();
+        } catch (RuntimeException e) {
+            // Database or index failure; try again on the next tick
+            pending.set(true);
+            logger.warn("Prediction precompute failed: {}", e.getMessage());
+            return;
+        }
+
+        if (result.stored() > 0)
+            logger.info("Stored system predictions for {} districts", result.stored());
+        if (!result.failedDistricts().isEmpty()) {
+            // Only the failed districts are missing a stored row, so the next tick retries just those;
+            // getSystemAutoPrediction falls back to a live call meanwhile
+            pending.set(true);
+            logger.warn("Prediction precompute failed for {}", result.failedDistricts());
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package com.outbreak.backend.service;
 
+import com.outbreak.backend.payload.BatchPredictionResponse;
 import com.outbreak.backend.payload.PredictionResponseDTO;
 import com.outbreak.backend.payload.WeatherDataDTO;
 
+import java.util.List;
+
 public interface PredictionService {
     WeatherDataDTO saveWeatherData(WeatherDataDTO weatherFactorsDTO, Long districtId);
 
     PredictionResponseDTO getSystemAutoPrediction();
 
     PredictionResponseDTO getPrediction(WeatherDataDTO weatherDataDTO, Long districtId);
+
+    BatchPredictionResponse getBatchPrediction(Integer year, Integer week);
+
+    PrecomputeResult precomputeLatestPredictions();
+
+    // Districts whose model call failed are left without a stored prediction for the caller to retry
+    record PrecomputeResult(int stored, List<String> failedDistricts) {
+    }
 }
@@ -1,23 +1,35 @@
 package com.outbreak.backend.service;
 
+import com.outbreak.backend.event.WeatherDataChangedEvent;
 import com.outbreak.backend.exceptions.APIException;
 import com.outbreak.backend.exceptions.ResourceNotFoundException;
 import com.outbreak.backend.model.District;
+import com.outbreak.backend.model.PredictionResult;
 import com.outbreak.backend.model.WeatherData;
+import com.outbreak.backend.payload.BatchPredictionResponse;
+import com.outbreak.backend.payload.DistrictPredictionDTO;
 import com.outbreak.backend.payload.PredictionResponseDTO;
 import com.outbreak.backend.payload.WeatherDataDTO;
 import com.outbreak.backend.repositories.DistrictRepository;
 import com.outbreak.backend.repositories.PredictionRepository;
+import com.outbreak.backend.repositories.PredictionResultRepository;
 import com.outbreak.backend.util.AuthUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class PredictionServiceImpl implements PredictionService{
@@ -30,6 +42,46 @@ public class PredictionServiceImpl implements PredictionService{
     PredictionRepository predictionRepository;
     @Autowired
     AuthUtil authUtil;
+    @Autowired
+    PredictionClient predictionClient;
+    @Autowired
+    PredictionCache predictionCache;
+    @Autowired
+    PredictionResultRepository predictionResultRepository;
+    @Autowired
+    ApplicationEventPublisher applicationEventPublisher;
+    @Autowired
+    PredictionHistoryRecorder predictionHistoryRecorder;
+    @Autowired
+    PredictionMetrics predictionMetrics;
+    @Autowired
+    LatestWeatherIndex latestWeatherIndex;
+
+    // Upper bound on model calls a single batch request runs at once
+    @Value("${outbreak.prediction.batch.concurrency:8}")
+    private int batchConcurrency;
+    @Value("${outbreak.prediction.risk.moderateCases:50}")
+    private double moderateRiskCases;
+    @Value("${outbreak.prediction.risk.highCases:100}")
+    private double highRiskCases;
+
+    private ExecutorService batchExecutor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "prediction-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        batchExecutor = Executors.newFixedThreadPool(batchConcurrency, threadFactory);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        batchExecutor.shutdownNow();
+    }
 
     @Override
     public WeatherDataDTO saveWeatherData(WeatherDataDTO weatherFactorsDTO, Long districtId) {
@@ -41,6 +93,9 @@ public class PredictionServiceImpl implements PredictionService{
             WeatherData weatherData = modelMapper.map(weatherFactorsDTO, WeatherData.class);
             weatherData.setDistrict(district);
             predictionRepository.save(weatherData);
+            latestWeatherIndex.offer(weatherData);
+            predictionCache.invalidateDistrict(districtId);
+            applicationEventPublisher.publishEvent(new WeatherDataChangedEvent(districtId));
 
             return modelMapper.map(weatherData, WeatherDataDTO.class);
         }catch (DataIntegrityViolationException e){
@@ -52,26 +107,39 @@ public class PredictionServiceImpl implements PredictionService{
 
     @Override
     public PredictionResponseDTO getSystemAutoPrediction() {
+        long startedAt = System.nanoTime();
 
-        District district = authUtil.loggedInDistrict();
+        Long districtId = predictionMetrics.timeStage(PredictionMetrics.STAGE_DISTRICT_LOOKUP,
+                () -> authUtil.loggedInDistrictId());
 
         // Fetch latest weather data for the district
-        WeatherData latestWeatherData = predictionRepository.findLatestWeatherDataByDistrict(district)
+        WeatherData latestWeatherData = predictionMetrics.timeStage(PredictionMetrics.STAGE_WEATHER_LOOKUP,
+                        () -> latestWeatherIndex.latestFor(districtId))
                 .orElseThrow(() -> new APIException("No weather data found for the district"));
 
 
-        // Call FastAPI prediction model
-        PredictionResponseDTO predictionResponse = callFastAPIPrediction(latestWeatherData, district.getDistrictName());
-
+        // Normally precomputed by PredictionPrecomputeJob; a live call covers rows the job has not reached yet
+        String modelVersion = predictionCache.getModelVersion();
+        PredictionResponseDTO predictionResponse = predictionMetrics.timeStage(PredictionMetrics.STAGE_STORED_RESULT,
+                        () -> predictionResultRepository.findByWeatherData_WeatherDataIdAndModelVersion(
+                                latestWeatherData.getWeatherDataId(), modelVersion))
+                .map(stored -> new PredictionResponseDTO(stored.getPredictedCases()))
+                .orElseGet(() -> {
+                    PredictionResponseDTO predictionResponse = predictionCache.get(
+                            predictionCache.keyOf(districtId, latestWeatherData),
+                            () -> callFastAPIPrediction(latestWeatherData, latestWeatherData.getDistrict().getDistrictName()));
+                    storePredictionResult(latestWeatherData, predictionResponse, modelVersion);
+                    return predictionResponse;
+                });
+
+        predictionHistoryRecorder.record(districtId, latestWeatherData, predictionResponse.getPredictedCases(),
+                modelVersion, startedAt, PredictionHistoryRecorder.SOURCE_SYSTEM);
         return predictionResponse;
 
     }
 
     public PredictionResponseDTO callFastAPIPrediction(WeatherData weatherData, String districtName){
 
-        RestTemplate restTemplate = new RestTemplate();
-        String apiUrl = "http://0.0.0.0:8000/predict/";
-
         // Create request body with the formatted district name
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("district", districtName);
@@ -85,33 +153,158 @@ public class PredictionServiceImpl implements PredictionService{
         requestBody.put("gust", weatherData.getMaxWindGusts());
         requestBody.put("weather_code", weatherData.getWeatherCode());
 
-        // Make HTTP request
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-        ResponseEntity<PredictionResponseDTO> response = restTemplate.exchange(
-                apiUrl,
-                HttpMethod.POST,
-                request,
-                PredictionResponseDTO.class
-        );
-
-        return response.getBody();
+        // Shared pooled client with deadline, retries and circuit breaker
+        long startedAt = System.nanoTime();
+        try {
+            PredictionResponseDTO predictionResponse = predictionClient.predict(requestBody);
+            predictionMetrics.recordPrediction(districtName, startedAt, null);
+            return predictionResponse;
+        } catch (RuntimeException e) {
+            predictionMetrics.recordPrediction(districtName, startedAt, e);
+            throw e;
+        }
 
     }
 
     @Override
     public PredictionResponseDTO getPrediction(WeatherDataDTO weatherDataDTO, Long districtId) {
+        long startedAt = System.nanoTime();
 
-        District district = districtRepository.findById(districtId)
+        District district = predictionMetrics.timeStage(PredictionMetrics.STAGE_DISTRICT_LOOKUP,
+                        () -> districtRepository.findById(districtId))
                 .orElseThrow(() -> new ResourceNotFoundException("District", "districtId", districtId));
 
 
         WeatherData weatherData = modelMapper.map(weatherDataDTO, WeatherData.class);
 
-        return callFastAPIPrediction(weatherData, district.getDistrictName());
+        PredictionResponseDTO predictionResponse = predictionCache.get(predictionCache.keyOf(districtId, weatherData),
+                () -> callFastAPIPrediction(weatherData, district.getDistrictName()));
+
+        predictionHistoryRecorder.record(districtId, weatherData, predictionResponse.getPredictedCases(),
+                predictionCache.getModelVersion(), startedAt, PredictionHistoryRecorder.SOURCE_ON_DEMAND);
+        return predictionResponse;
+    }
+
+    @Override
+    public BatchPredictionResponse getBatchPrediction(Integer year, Integer week) {
+        long startedAt = System.nanoTime();
+
+        if ((year == null) != (week == null))
+            throw new APIException("Provide both year and week, or neither to use the latest weather data");
+        if (week != null && (week < 1 || week > CaseTimeSeriesStore.WEEKS_PER_YEAR))
+            throw new APIException("Week must be between 1 and " + CaseTimeSeriesStore.WEEKS_PER_YEAR);
+
+        // One query for every district's feature row instead of one per district
+        List<WeatherData> weatherRows = year == null
+                ? latestWeatherIndex.all()
+                : predictionRepository.findWeatherDataForWeek(year, week);
+
+        // Fan out on a bounded pool; the entities are detached, so workers never touch the persistence context
+        List<CompletableFuture<DistrictPredictionDTO>> futures = weatherRows.stream()
+                .map(weatherData -> CompletableFuture.supplyAsync(
+                        () -> predictDistrict(weatherData, PredictionHistoryRecorder.SOURCE_BATCH), batchExecutor))
+                .toList();
+
+        List<DistrictPredictionDTO> content = new ArrayList<>(futures.size());
+        for (CompletableFuture<DistrictPredictionDTO> future : futures) {
+            content.add(future.join());
+        }
+
+        // Highest predicted case count first; failed districts at the bottom
+        content.sort(Comparator.comparing(DistrictPredictionDTO::getPredictedCases,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+
+        int failed = (int) content.stream().filter(row -> row.getError() != null).count();
+        int withoutWeatherData = (int) Math.max(0, districtRepository.count() - content.size());
+
+        BatchPredictionResponse batchPredictionResponse = new BatchPredictionResponse();
+        batchPredictionResponse.setContent(content);
+        batchPredictionResponse.setDistrictsPredicted(content.size() - failed);
+        batchPredictionResponse.setDistrictsFailed(failed);
+        batchPredictionResponse.setDistrictsWithoutWeatherData(withoutWeatherData);
+        batchPredictionResponse.setElapsedMillis((System.nanoTime() - startedAt) / 1_000_000);
+        return batchPredictionResponse;
+    }
+
+    @Override
+    public PrecomputeResult precomputeLatestPredictions() {
+        String modelVersion = predictionCache.getModelVersion();
+        List<WeatherData> latestRows = latestWeatherIndex.all();
+        if (latestRows.isEmpty())
+            return new PrecomputeResult(0, List.of());
+
+        Set<Long> computed = new HashSet<>(predictionResultRepository.findComputedWeatherDataIds(modelVersion,
+                latestRows.stream().map(WeatherData::getWeatherDataId).toList()));
+        List<WeatherData> missing = latestRows.stream()
+                .filter(weatherData -> !computed.contains(weatherData.getWeatherDataId()))
+                .toList();
+
+        List<CompletableFuture<DistrictPredictionDTO>> futures = missing.stream()
+                .map(weatherData -> CompletableFuture.supplyAsync(() -> predictDistrict(weatherData, null), batchExecutor))
+                .toList();
+
+        int stored = 0;
+        List<String> failedDistricts = new ArrayList<>();
+        for (int i = 0; i < missing.size(); i++) {
+            DistrictPredictionDTO row = futures.get(i).join();
+            if (row.getError() != null)
+                failedDistricts.add(row.getDistrictName());
+            else if (storePredictionResult(missing.get(i), new PredictionResponseDTO(row.getPredictedCases()), modelVersion))
+                stored++;
+        }
+        return new PrecomputeResult(stored, failedDistricts);
+    }
+
+    private boolean storePredictionResult(WeatherData weatherData, PredictionResponseDTO prediction, String modelVersion) {
+        if (prediction == null || prediction.getPredictedCases() == null)
+            return false;
+
+        try {
+            predictionResultRepository.save(new PredictionResult(null, prediction.getPredictedCases(), modelVersion,
+                    LocalDateTime.now(), weatherData));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Stored concurrently by the job or another request
+            return false;
+        }
+    }
+
+    // source is null when the prediction is not served to anyone and should stay out of the history
+    private DistrictPredictionDTO predictDistrict(WeatherData weatherData, String source) {
+        long startedAt = System.nanoTime();
+        District district = weatherData.getDistrict();
+        DistrictPredictionDTO row = new DistrictPredictionDTO();
+        row.setDistrictId(district.getDistrictId());
+        row.setDistrictName(district.getDistrictName());
+        row.setPredictYear(weatherData.getPredictYear());
+        row.setPredictMonth(weatherData.getPredictMonth());
+        row.setPredictWeek(weatherData.getPredictWeek());
+
+        // A failing district is reported in its row rather than failing the whole table
+        try {
+            PredictionResponseDTO prediction = predictionCache.get(
+                    predictionCache.keyOf(district.getDistrictId(), weatherData),
+                    () -> callFastAPIPrediction(weatherData, district.getDistrictName()));
+            row.setPredictedCases(prediction.getPredictedCases());
+            row.setRiskLevel(riskLevel(prediction.getPredictedCases()));
+            if (source != null)
+                predictionHistoryRecorder.record(district.getDistrictId(), weatherData, prediction.getPredictedCases(),
+                        predictionCache.getModelVersion(), startedAt, source);
+        } catch (RuntimeException e) {
+            row.setError(e.getMessage());
+        }
+        return row;
+    }
 
+    // Same labels the alert panel uses
+    private String riskLevel(Double predictedCases) {
+        if (predictedCases == null)
+            return null;
+        if (predictedCases >= highRiskCases)
+            return "High Risk";
+        if (predictedCases >= moderateRiskCases)
+            return "Moderate Risk";
+        return "Low Risk";
     }
 
 
@@ -8,6 +8,8 @@ import com.outbreak.backend.payload.UserDTO;
 import com.outbreak.backend.payload.UserResponse;
 import com.outbreak.backend.repositories.DivisionRepository;
 import com.outbreak.backend.repositories.UserRepository;
+import com.outbreak.backend.security.jwt.TokenRevocationRegistry;
+import com.outbreak.backend.security.services.PrincipalCache;
 import com.outbreak.backend.security.response.MessageResponse;
 import com.outbreak.backend.util.AuthUtil;
 import org.modelmapper.ModelMapper;
@@ -37,6 +39,12 @@ public class UserServiceImpl implements UserService{
     @Autowired
     PasswordEncoder encoder;
 
+    @Autowired
+    PrincipalCache principalCache;
+
+    @Autowired
+    TokenRevocationRegistry tokenRevocationRegistry;
+
     @Autowired
     AuthUtil authUtil;
 
@@ -110,6 +118,8 @@ public class UserServiceImpl implements UserService{
                 .orElseThrow(() -> new ResourceNotFoundException("User", "userID", userId));
 
         userRepository.delete(user);
+        principalCache.evict(user.getUserName());
+        tokenRevocationRegistry.revoke(user.getUserName());
         return modelMapper.map(user, UserDTO.class);
     }
 
@@ -132,7 +142,13 @@ public class UserServiceImpl implements UserService{
 
         user.setDivision(division);
         user.setRoles(savedUser.getRoles());
+        // The username itself may have changed
+        principalCache.evict(savedUser.getUserName());
+        tokenRevocationRegistry.revoke(savedUser.getUserName());
         savedUser = userRepository.save(user);
+        principalCache.evict(savedUser.getUserName());
+        // Division and roles travel in the token, so issued tokens must be re-checked
+        tokenRevocationRegistry.revoke(savedUser.getUserName());
         return modelMapper.map(savedUser,UserDTO.class);
     }
 
@@ -154,6 +170,7 @@ public class UserServiceImpl implements UserService{
         user.setLastName(userDTO.getLastName());
 
         userRepository.save(user);
+        principalCache.evict(user.getUserName());
 
         return modelMapper.map(user, UserDTO.class);
 
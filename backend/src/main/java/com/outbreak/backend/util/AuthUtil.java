@@ -2,7 +2,7 @@ package com.outbreak.backend.util;
 
 import com.outbreak.backend.model.District;
 import com.outbreak.backend.model.User;
-import com.outbreak.backend.repositories.UserRepository;
+import com.outbreak.backend.security.services.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,55 +12,45 @@ import org.springframework.stereotype.Component;
 @Component
 public class AuthUtil {
 
+    // Request-scoped; the user is loaded at most once per request
     @Autowired
-    UserRepository userRepository;
+    CurrentUserContext currentUserContext;
 
     public String loggedInEmail(){
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + authentication.getName()));
-
-        return user.getEmail();
+        return currentUserContext.user().getEmail();
     }
 
     public Long loggedInUserId(){
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + authentication.getName()));
-
-        return user.getUserId();
+        return currentUserContext.user().getUserId();
     }
 
     public User loggedInUser(){
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + authentication.getName()));
-        return user;
-
+        return currentUserContext.user();
     }
 
     public String loggedInUserName(){
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        User user = userRepository.findByUserName(authentication.getName())
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + authentication.getName()));
-
-        return user.getUserName();
-
+        return currentUserContext.user().getUserName();
     }
 
     public District loggedInDistrict(){
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        User user = loggedInUser();
+        User user = currentUserContext.user();
 
         if (user.getDivision() == null || user.getDivision().getDistrict() == null) {
-            throw new UsernameNotFoundException("User Not Found with district or division: " + authentication.getName());
+            throw new UsernameNotFoundException("User Not Found with district or division: " + user.getUserName());
         }
 
         return user.getDivision().getDistrict();
 
     }
 
+    // Read from the token claims when present, so no user lookup is needed
+    public Long loggedInDistrictId(){
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails
+                && userDetails.getDistrictId() != null)
+            return userDetails.getDistrictId();
+
+        return loggedInDistrict().getDistrictId();
+    }
+
 }
@@ -0,0 +1,31 @@
+package com.outbreak.backend.util;
+
+import com.outbreak.backend.exceptions.APIException;
+
+import java.time.Year;
+
+/**
+ * The window of case years the application accepts. The time-series store keeps dense per-year arrays,
+ * so a typo'd year such as 20024 must be rejected rather than stored.
+ */
+public final class CaseYears {
+
+    public static final int MIN_YEAR = 1900;
+
+    private CaseYears() {
+    }
+
+    // Next calendar year, so data entered around New Year is still accepted
+    public static int maxYear() {
+        return Year.now().getValue() + 1;
+    }
+
+    public static boolean isSupported(Integer year) {
+        return year != null && year >= MIN_YEAR && year <= maxYear();
+    }
+
+    public static void requireSupported(Integer year) {
+        if (!isSupported(year))
+            throw new APIException("caseYear must be between " + MIN_YEAR + " and " + maxYear() + ", got: " + year);
+    }
+}
@@ -0,0 +1,38 @@
+package com.outbreak.backend.util;
+
+import com.outbreak.backend.model.User;
+import com.outbreak.backend.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * The logged-in user for the current request, loaded with its division and district in one query the
+ * first time any AuthUtil accessor asks for it and reused for the rest of the request.
+ */
+@Component
+@RequestScope
+public class CurrentUserContext {
+
+    @Autowired
+    UserRepository userRepository;
+
+    private String userName;
+    private User user;
+
+    public User user() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String name = authentication.getName();
+
+        // Re-resolve if the authentication changed within the request, e.g. on sign-in
+        if (user == null || !name.equals(userName)) {
+            user = userRepository.findWithDivisionAndDistrictByUserName(name)
+                    .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + name));
+            userName = name;
+        }
+        return user;
+    }
+}
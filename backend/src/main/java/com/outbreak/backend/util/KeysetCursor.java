@@ -0,0 +1,51 @@
+package com.outbreak.backend.util;
+
+import com.outbreak.backend.exceptions.APIException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset pagination. It carries the sort direction and the id of the last row returned,
+ * so the next page is read with "WHERE id > :last ORDER BY id LIMIT n" (or the descending mirror) instead
+ * of an OFFSET and a COUNT(*).
+ */
+public final class KeysetCursor {
+
+    private static final String KEY = "id";
+    private static final String ASC = "asc";
+    private static final String DESC = "desc";
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(Long lastId, boolean ascending) {
+        String value = KEY + ":" + (ascending ? ASC : DESC) + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // A blank cursor asks for the first page; returns null in that case
+    public static Long decode(String cursor, boolean ascending) {
+        if (cursor == null || cursor.isBlank())
+            return null;
+
+        String direction;
+        long lastId;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":", -1);
+            if (parts.length != 3 || !KEY.equals(parts[0]) || !(ASC.equals(parts[1]) || DESC.equals(parts[1])))
+                throw new IllegalArgumentException();
+            direction = parts[1];
+            lastId = Long.parseLong(parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new APIException("Invalid pagination cursor: " + cursor);
+        }
+
+        // Replaying a cursor under the other sort order would silently return the wrong page
+        if (!direction.equals(ascending ? ASC : DESC))
+            throw new APIException("Pagination cursor was issued for sortOrder=" + direction);
+        return lastId;
+    }
+}
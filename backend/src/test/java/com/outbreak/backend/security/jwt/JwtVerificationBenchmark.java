@@ -0,0 +1,96 @@
+package com.outbreak.backend.security.jwt;
+
+import com.outbreak.backend.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT verification in AuthTokenFilter.
+ *
+ * previousPath reproduces the old filter: validateJwtToken and getUserNameFromJwtToken each decoded the
+ * secret, built a key and a parser, and verified the token. sharedParser is one verification with the
+ * key and parser built once; cachedClaims is the verified-token cache hit that most requests take.
+ *
+ * Run with: mvn test -Dtest=JwtVerificationBenchmark -Djwt.benchmark=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private String secret;
+    private String token;
+    private JwtUtils jwtUtils;
+
+    @Setup
+    public void setUp() {
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        secret = Encoders.BASE64.encode(keyBytes);
+
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", secret);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCookie", "outbreak");
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheSize", 10_000L);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheTtl", Duration.ofMinutes(5));
+        jwtUtils.init();
+
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "mohuser", null, null, null, null, null,
+                List.of(new SimpleGrantedAuthority("ROLE_MOH_USER")));
+        principal.setDivisionId(3L);
+        principal.setDistrictId(7L);
+        token = jwtUtils.generateTokenFromUsername(principal);
+    }
+
+    @Benchmark
+    public String previousPath() {
+        // validateJwtToken
+        Jwts.parser().verifyWith(previousKey()).build().parseSignedClaims(token);
+        // getUserNameFromJwtToken
+        return Jwts.parser().verifyWith(previousKey()).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public Claims sharedParser() {
+        return jwtUtils.getClaimsFromJwtToken(token);
+    }
+
+    @Benchmark
+    public Claims cachedClaims() {
+        return jwtUtils.parseVerifiedClaims(token);
+    }
+
+    private SecretKey previousKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "jwt.benchmark", matches = "true")
+    void runBenchmarks() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,215 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.event.GraphDataChangedEvent;
+import com.outbreak.backend.payload.GraphDataDTO;
+import com.outbreak.backend.repositories.GraphDataRepository;
+import com.outbreak.backend.service.CaseTimeSeriesStore.Granularity;
+import com.outbreak.backend.service.CaseTimeSeriesStore.RangePoint;
+import com.outbreak.backend.service.CaseTimeSeriesStore.RangeTotals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the prefix-sum range queries of CaseTimeSeriesStore against a naive sum over the same rows.
+ */
+class CaseTimeSeriesStoreTest {
+
+    private static final int FIRST_YEAR = 2019;
+    private static final int LAST_YEAR = 2023;
+    private static final Long[] DISTRICTS = {1L, 2L, null};
+
+    // (fromYear, fromPeriod, toYear, toPeriod); null means open-ended
+    private static final Integer[][] RANGES = {
+            {null, null, null, null},
+            {2020, 50, 2021, 3},
+            {2020, 11, 2021, 2},
+            {null, null, 2021, 6},
+            {2021, 2, null, null},
+            {2021, 7, 2021, 7},
+            {2010, 5, 2030, 1},
+            {2022, 15, 2022, 20},
+            {2021, 10, 2021, 3},
+            {2023, 1, 2019, 1},
+            {2030, 1, null, null},
+            {null, null, 2010, 1}
+    };
+
+    private final List<Row> rows = new ArrayList<>();
+    private int minYear = Integer.MAX_VALUE;
+    private int maxYear = Integer.MIN_VALUE;
+    private long nextId = 1;
+    private CaseTimeSeriesStore store;
+
+    private record Row(long id, Long districtId, int year, int month, int week, int cases) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        for (Long districtId : DISTRICTS) {
+            for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+                for (int week = 1; week <= CaseTimeSeriesStore.WEEKS_PER_YEAR; week++) {
+                    if (random.nextDouble() < 0.3)
+                        continue;
+                    add(districtId, year, week, random.nextInt(200));
+                    // A second row in the same week, so row counts and case sums differ
+                    if (random.nextDouble() < 0.1)
+                        add(districtId, year, week, random.nextInt(50));
+                }
+            }
+        }
+
+        GraphDataRepository graphDataRepository = mock(GraphDataRepository.class);
+        when(graphDataRepository.findAllForTimeSeries()).thenAnswer(invocation -> rows.stream()
+                .map(row -> new Object[]{row.id, row.districtId, row.year, row.month, row.week, row.cases})
+                .toList());
+        store = new CaseTimeSeriesStore();
+        store.graphDataRepository = graphDataRepository;
+        store.reload();
+    }
+
+    @Test
+    void rangeTotalsMatchNaiveSums() {
+        assertAllRangesMatch();
+    }
+
+    @Test
+    void unknownDistrictGivesZeroBuckets() {
+        RangeTotals totals = store.rangeTotals(99L, Granularity.MONTH, 2021, 1, 2021, 12);
+        assertEquals(12, totals.points().size());
+        assertTrue(totals.points().stream().allMatch(point -> point.cases() == 0 && point.rows() == 0));
+        assertEquals(0, totals.totalCases());
+    }
+
+    @Test
+    void rangeTotalsFollowChangesAfterPrefixesWereBuilt() {
+        // Builds every lazy prefix before the data changes
+        assertAllRangesMatch();
+
+        Row added = add(1L, 2021, 20, 500);
+        store.onGraphDataChanged(GraphDataChangedEvent.created(dto(added)));
+        assertAllRangesMatch();
+
+        Row before = rows.get(10);
+        Row after = new Row(before.id, 2L, 2022, monthOf(40), 40, before.cases + 17);
+        rows.set(10, after);
+        store.onGraphDataChanged(GraphDataChangedEvent.updated(dto(before), dto(after)));
+        assertAllRangesMatch();
+
+        Row removed = rows.remove(25);
+        store.onGraphDataChanged(GraphDataChangedEvent.deleted(dto(removed)));
+        assertAllRangesMatch();
+
+        // A later year widens the dense arrays
+        Row nextYear = add(2L, LAST_YEAR + 1, 3, 42);
+        store.onGraphDataChanged(GraphDataChangedEvent.created(dto(nextYear)));
+        assertAllRangesMatch();
+    }
+
+    @Test
+    void deltasAlreadyInAReloadedSnapshotAreNotAppliedTwice() {
+        // The changes commit, a reload reads them, and only then do their after-commit events arrive
+        Row added = add(1L, 2021, 20, 500);
+        Row before = rows.get(10);
+        Row after = new Row(before.id, 2L, 2022, monthOf(40), 40, before.cases + 17);
+        rows.set(10, after);
+        Row removed = rows.remove(25);
+        store.reload();
+
+        store.onGraphDataChanged(GraphDataChangedEvent.created(dto(added)));
+        store.onGraphDataChanged(GraphDataChangedEvent.updated(dto(before), dto(after)));
+        store.onGraphDataChanged(GraphDataChangedEvent.deleted(dto(removed)));
+        assertAllRangesMatch();
+    }
+
+    private void assertAllRangesMatch() {
+        for (Granularity granularity : Granularity.values()) {
+            for (Long districtId : new Long[]{null, 1L, 2L}) {
+                for (Integer[] range : RANGES) {
+                    RangeTotals expected = naive(districtId, granularity, range[0], range[1], range[2], range[3]);
+                    RangeTotals actual = store.rangeTotals(districtId, granularity, range[0], range[1], range[2], range[3]);
+                    String label = granularity + " district " + districtId + " range " + Arrays.toString(range);
+                    assertEquals(expected.points(), actual.points(), label);
+                    assertEquals(expected.totalCases(), actual.totalCases(), label);
+                }
+            }
+        }
+    }
+
+    // Walks every bucket in the clamped range and sums the matching rows one by one
+    private RangeTotals naive(Long districtId, Granularity granularity,
+                              Integer fromYear, Integer fromPeriod, Integer toYear, Integer toPeriod) {
+        int periodsPerYear = granularity.periodsPerYear();
+        int firstYear = fromYear == null ? minYear : fromYear;
+        int firstPeriod = fromPeriod == null ? 1 : clamp(fromPeriod, periodsPerYear);
+        int lastYear = toYear == null ? maxYear : toYear;
+        int lastPeriod = toPeriod == null ? periodsPerYear : clamp(toPeriod, periodsPerYear);
+        if (firstYear < minYear) {
+            firstYear = minYear;
+            firstPeriod = 1;
+        }
+        if (lastYear > maxYear) {
+            lastYear = maxYear;
+            lastPeriod = periodsPerYear;
+        }
+
+        List<RangePoint> points = new ArrayList<>();
+        long total = 0;
+        for (int year = firstYear; year <= lastYear; year++) {
+            int from = year == firstYear ? firstPeriod : 1;
+            int to = year == lastYear ? lastPeriod : periodsPerYear;
+            for (int period = from; period <= to; period++) {
+                long cases = 0;
+                long count = 0;
+                for (Row row : rows) {
+                    if ((districtId == null || districtId.equals(row.districtId))
+                            && row.year == year && periodOf(granularity, row) == period) {
+                        cases += row.cases;
+                        count++;
+                    }
+                }
+                points.add(new RangePoint(year, period, cases, count));
+                total += cases;
+            }
+        }
+        return new RangeTotals(points, total);
+    }
+
+    private static int periodOf(Granularity granularity, Row row) {
+        return switch (granularity) {
+            case WEEK -> row.week;
+            case MONTH -> row.month;
+            case QUARTER -> (row.month - 1) / 3 + 1;
+            case YEAR -> 1;
+        };
+    }
+
+    private static int clamp(int period, int periodsPerYear) {
+        return Math.min(Math.max(period, 1), periodsPerYear);
+    }
+
+    private Row add(Long districtId, int year, int week, int cases) {
+        Row row = new Row(nextId++, districtId, year, monthOf(week), week, cases);
+        rows.add(row);
+        minYear = Math.min(minYear, year);
+        maxYear = Math.max(maxYear, year);
+        return row;
+    }
+
+    private static int monthOf(int week) {
+        return Math.min(12, (week - 1) * 12 / 52 + 1);
+    }
+
+    private static GraphDataDTO dto(Row row) {
+        return new GraphDataDTO(row.id, row.cases, row.month, row.year, row.week, row.districtId);
+    }
+}
@@ -0,0 +1,122 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.model.District;
+import com.outbreak.backend.model.Division;
+import com.outbreak.backend.payload.NameSuggestionDTO;
+import com.outbreak.backend.repositories.DistrictRepository;
+import com.outbreak.backend.repositories.DivisionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NameSearchIndexTest {
+
+    private final District colombo = new District(1L, "Colombo", null);
+    private final District kandy = new District(3L, "Kandy", null);
+    private final List<District> districts = new ArrayList<>(List.of(
+            colombo,
+            new District(2L, "Gampaha", null),
+            kandy,
+            new District(4L, "Nuwara Eliya", null),
+            new District(5L, "Kalutara", null),
+            new District(6L, "Matale", null)));
+    private final List<Division> divisions = List.of(
+            new Division(10L, "Colombo North", colombo),
+            new Division(11L, "Kandy Four Gravets", kandy),
+            new Division(12L, "Kolonnawa", colombo),
+            new Division(13L, "Kandy Dyke Road", kandy));
+
+    private DistrictRepository districtRepository;
+    private NameSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        districtRepository = mock(DistrictRepository.class);
+        DivisionRepository divisionRepository = mock(DivisionRepository.class);
+        when(districtRepository.findAll()).thenAnswer(invocation -> List.copyOf(districts));
+        when(divisionRepository.findAllWithDistrict()).thenReturn(divisions);
+
+        index = new NameSearchIndex();
+        index.districtRepository = districtRepository;
+        index.divisionRepository = divisionRepository;
+    }
+
+    @Test
+    void queriesShorterThanATrigramScanForSubstrings() {
+        assertEquals(Set.of(3L, 5L), index.districtIdsMatching("ka"));
+        assertEquals(Set.of(11L, 13L), index.divisionIdsMatching("Ka"));
+        assertEquals(Set.of(1L), index.districtIdsMatching("co"));
+        assertEquals(Set.of(10L), index.divisionIdsMatching("co"));
+        assertTrue(index.districtIdsMatching(" - ").isEmpty());
+    }
+
+    @Test
+    void caseSpacesAndPunctuationAreIgnored() {
+        assertEquals(Set.of(4L), index.districtIdsMatching("nuwaraeliya"));
+        assertEquals(Set.of(4L), index.districtIdsMatching("Nuwara-Eliya"));
+        assertEquals(Set.of(4L), index.districtIdsMatching("ELIYA"));
+        assertEquals(Set.of(3L), index.districtIdsMatching("ka ndy"));
+    }
+
+    @Test
+    void trigramCandidatesAreConfirmedAsSubstrings() {
+        // "Kandy Dyke Road" holds every trigram of "andyk" (and, ndy, dyk) but not the string itself
+        assertTrue(index.divisionIdsMatching("andyk").isEmpty());
+        assertEquals(Set.of(13L), index.divisionIdsMatching("ndyd"));
+        assertEquals(Set.of(11L, 13L), index.divisionIdsMatching("kandy"));
+        assertTrue(index.districtIdsMatching("kandyx").isEmpty());
+    }
+
+    @Test
+    void substringHitsRankByMatchQuality() {
+        List<NameSuggestionDTO> suggestions = index.suggest("kandy", 10);
+        assertEquals(List.of("Kandy", "Kandy Dyke Road", "Kandy Four Gravets"), names(suggestions));
+        assertEquals(4.5, suggestions.get(0).getScore());
+        assertEquals(NameSearchIndex.DISTRICT, suggestions.get(0).getType());
+        assertEquals(3.0, suggestions.get(1).getScore());
+        assertEquals(3L, suggestions.get(1).getDistrictId());
+        assertEquals("Kandy", suggestions.get(1).getDistrictName());
+
+        NameSuggestionDTO wordStart = index.suggest("north", 5).get(0);
+        assertEquals("Colombo North", wordStart.getName());
+        assertEquals(2.0, wordStart.getScore());
+    }
+
+    @Test
+    void misspellingsFallBackToDiceRankedSuggestions() {
+        List<NameSuggestionDTO> suggestions = index.suggest("Colombo Nrth", 5);
+        assertEquals(List.of("Colombo North", "Colombo"), names(suggestions));
+        assertEquals(0.737, suggestions.get(0).getScore());
+        assertEquals(0.714, suggestions.get(1).getScore());
+
+        assertEquals(List.of("Colombo North"), names(index.suggest("Colombo Nrth", 1)));
+        assertEquals(List.of("Kalutara"), names(index.suggest("Kalutra", 5)));
+        // Fuzzy matches only feed suggestions, never the id lookups behind the search endpoints
+        assertTrue(index.districtIdsMatching("Kalutra").isEmpty());
+    }
+
+    @Test
+    void invalidateRebuildsOnTheNextLookup() {
+        assertTrue(index.districtIdsMatching("galle").isEmpty());
+        districts.add(new District(7L, "Galle", null));
+
+        // Still served from the snapshot built by the first lookup
+        assertTrue(index.districtIdsMatching("galle").isEmpty());
+        verify(districtRepository, times(1)).findAll();
+
+        index.invalidate();
+        assertEquals(Set.of(7L), index.districtIdsMatching("galle"));
+        assertEquals(Set.of(7L), index.districtIdsMatching("gal"));
+        verify(districtRepository, times(2)).findAll();
+    }
+
+    private static List<String> names(List<NameSuggestionDTO> suggestions) {
+        return suggestions.stream().map(NameSuggestionDTO::getName).toList();
+    }
+}
@@ -0,0 +1,260 @@
+package com.outbreak.backend.service;
+
+import com.outbreak.backend.event.GraphDataChangedEvent;
+import com.outbreak.backend.model.District;
+import com.outbreak.backend.payload.AlertDTO;
+import com.outbreak.backend.payload.GraphDataDTO;
+import com.outbreak.backend.repositories.DistrictRepository;
+import com.outbreak.backend.service.OutbreakDetectionEngine.Signal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Drives the EWMA/CUSUM detectors with synthetic weekly series. Unless a test says otherwise the
+ * baseline alternates 20 and 30 cases, which settles at a mean of about 25 and a standard deviation of about 5.
+ */
+class OutbreakDetectionEngineTest {
+
+    private static final long DISTRICT_ID = 7L;
+    private static final int YEAR = 2024;
+
+    private OutbreakDetectionEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new OutbreakDetectionEngine();
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "alpha", 0.2);
+        ReflectionTestUtils.setField(engine, "zThreshold", 3.0);
+        ReflectionTestUtils.setField(engine, "criticalZ", 5.0);
+        ReflectionTestUtils.setField(engine, "cusumSlack", 0.5);
+        ReflectionTestUtils.setField(engine, "cusumLimit", 5.0);
+        ReflectionTestUtils.setField(engine, "warmupWeeks", 8);
+        ReflectionTestUtils.setField(engine, "minCases", 10);
+        ReflectionTestUtils.setField(engine, "cooldownWeeks", 4);
+        ReflectionTestUtils.setField(engine, "maxGapWeeks", 8);
+    }
+
+    @Test
+    void ewmaSettlesOnTheMeanAndSpreadOfTheSeries() {
+        OutbreakDetectionEngine.DetectorState constant = engine.new DetectorState();
+        observeAll(constant, 1, repeat(25, 12));
+        assertEquals(25.0, constant.mean, 1e-9);
+        assertEquals(0.0, constant.variance, 1e-9);
+
+        OutbreakDetectionEngine.DetectorState alternating = engine.new DetectorState();
+        List<Signal> signals = observeAll(alternating, 1, baseline(40));
+        assertTrue(signals.isEmpty());
+        assertEquals(25.0, alternating.mean, 1.0);
+        assertEquals(5.0, Math.sqrt(alternating.variance), 0.1);
+    }
+
+    @Test
+    void spikeAfterWarmupRaisesOutbreakOrCriticalAlert() {
+        assertEquals(OutbreakDetectionEngine.OUTBREAK_ALERT, spikeAfterBaseline(45).alertType());
+        assertEquals(OutbreakDetectionEngine.CRITICAL_ALERT, spikeAfterBaseline(80).alertType());
+
+        OutbreakDetectionEngine.DetectorState state = engine.new DetectorState();
+        observeAll(state, 1, baseline(10));
+        assertNull(state.observe(weekIndex(11), 35));
+    }
+
+    @Test
+    void noAlertsDuringWarmup() {
+        OutbreakDetectionEngine.DetectorState state = engine.new DetectorState();
+        List<Integer> series = new ArrayList<>(baseline(5));
+        series.add(80);
+        assertTrue(observeAll(state, 1, series).isEmpty());
+        // A zero variance makes every early z-score huge; none of it may leak into the CUSUM
+        assertEquals(0.0, state.cusum);
+    }
+
+    @Test
+    void weeksBelowMinCasesNeverAlert() {
+        OutbreakDetectionEngine.DetectorState state = engine.new DetectorState();
+        List<Integer> quiet = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            quiet.add(1);
+            quiet.add(2);
+        }
+        assertTrue(observeAll(state, 1, quiet).isEmpty());
+
+        assertNull(state.observe(weekIndex(11), 9));
+        assertNotNull(state.observe(weekIndex(12), 12));
+    }
+
+    @Test
+    void cooldownSuppressesRepeatAlerts() {
+        OutbreakDetectionEngine.DetectorState state = engine.new DetectorState();
+        observeAll(state, 1, baseline(10));
+
+        assertNotNull(state.observe(weekIndex(11), 80));
+        observeAll(state, 12, List.of(20, 30, 20));
+        // Week 15 is exactly cooldownWeeks after the alert in week 11
+        assertNull(state.observe(weekIndex(15), 80));
+        assertNull(state.observe(weekIndex(16), 20));
+        assertNotNull(state.observe(weekIndex(18), 120));
+    }
+
+    @Test
+    void cusumCatchesSustainedRiseAndResetsAfterAlerting() {
+        OutbreakDetectionEngine.DetectorState state = engine.new DetectorState();
+        observeAll(state, 1, baseline(10));
+
+        int[] ramp = {28, 31, 34, 37};
+        for (int i = 0; i < ramp.length; i++) {
+            assertNull(state.observe(weekIndex(11 + i), ramp[i]));
+        }
+        Signal signal = state.observe(weekIndex(15), 40);
+        assertNotNull(signal);
+        assertEquals(OutbreakDetectionEngine.HIGH_RISK, signal.alertType());
+        assertTrue(signal.zScore() < 3.0);
+        assertTrue(signal.cusum() >= 5.0);
+        assertEquals(0.0, state.cusum);
+    }
+
+    @Test
+    void longReportingGapRestartsWarmup() {
+        OutbreakDetectionEngine.DetectorState state = engine.new DetectorState();
+        observeAll(state, 1, baseline(10));
+
+        // Nine missing weeks (11..19) is more than maxGapWeeks
+        assertNull(state.observe(weekIndex(20), 80));
+        assertEquals(1, state.weeksSeen);
+        assertEquals(80.0, state.mean);
+    }
+
+    @Test
+    void shortReportingGapKeepsTheBaseline() {
+        OutbreakDetectionEngine.DetectorState state = engine.new DetectorState();
+        observeAll(state, 1, baseline(10));
+
+        // Eight missing weeks (11..18) is within maxGapWeeks
+        Signal signal = state.observe(weekIndex(19), 80);
+        assertNotNull(signal);
+        assertEquals(OutbreakDetectionEngine.CRITICAL_ALERT, signal.alertType());
+        assertEquals(11, state.weeksSeen);
+    }
+
+    @Test
+    void replayDoesNotReRaisePastAlertsButKeepsTheirCooldown() {
+        CaseTimeSeriesStore store = mock(CaseTimeSeriesStore.class);
+        DistrictRepository districtRepository = mock(DistrictRepository.class);
+        AlertService alertService = mock(AlertService.class);
+        engine.caseTimeSeriesStore = store;
+        engine.districtRepository = districtRepository;
+        engine.alertService = alertService;
+        engine.dataVersionTracker = mock(DataVersionTracker.class);
+        engine.transactionManager = mock(PlatformTransactionManager.class);
+
+        // History: the baseline, then a spike in week 11 that would have alerted when it was entered
+        List<GraphDataDTO> history = new ArrayList<>();
+        List<Integer> cases = new ArrayList<>(baseline(10));
+        cases.add(80);
+        for (int week = 1; week <= cases.size(); week++) {
+            history.add(row(week, week, cases.get(week - 1)));
+        }
+        District district = new District();
+        district.setDistrictId(DISTRICT_ID);
+        when(districtRepository.findAll()).thenReturn(List.of(district));
+        when(store.rowsForDistricts(anyCollection())).thenReturn(history);
+
+        engine.warmUp();
+        GraphDataDTO edited = row(5, 5, 21);
+        engine.onGraphDataChanged(GraphDataChangedEvent.updated(row(5, 5, 20), edited));
+        verify(alertService, never()).createAlert(any(), anyLong());
+
+        // Week 12 is still inside the cooldown of the replayed week-11 spike
+        engine.onGraphDataChanged(GraphDataChangedEvent.created(row(12, 12, 120)));
+        verify(alertService, never()).createAlert(any(), anyLong());
+
+        engine.onGraphDataChanged(GraphDataChangedEvent.created(row(16, 16, 300)));
+        ArgumentCaptor<AlertDTO> alert = ArgumentCaptor.forClass(AlertDTO.class);
+        verify(alertService, times(1)).createAlert(alert.capture(), eq(DISTRICT_ID));
+        assertEquals(OutbreakDetectionEngine.CRITICAL_ALERT, alert.getValue().getAlertType());
+    }
+
+    @Test
+    void replayTreatsMissingCountsAsZero() {
+        CaseTimeSeriesStore store = mock(CaseTimeSeriesStore.class);
+        DistrictRepository districtRepository = mock(DistrictRepository.class);
+        AlertService alertService = mock(AlertService.class);
+        engine.caseTimeSeriesStore = store;
+        engine.districtRepository = districtRepository;
+        engine.alertService = alertService;
+        engine.dataVersionTracker = mock(DataVersionTracker.class);
+        engine.transactionManager = mock(PlatformTransactionManager.class);
+
+        List<GraphDataDTO> history = new ArrayList<>();
+        List<Integer> cases = baseline(10);
+        for (int week = 1; week <= cases.size(); week++) {
+            history.add(row(week, week, cases.get(week - 1)));
+        }
+        history.get(3).setNumberOfCases(null);
+        District district = new District();
+        district.setDistrictId(DISTRICT_ID);
+        when(districtRepository.findAll()).thenReturn(List.of(district));
+        when(store.rowsForDistricts(anyCollection())).thenReturn(history);
+
+        assertDoesNotThrow(() -> engine.warmUp());
+        // Detection still works for the district after the replay
+        engine.onGraphDataChanged(GraphDataChangedEvent.created(row(11, 11, 300)));
+        verify(alertService, times(1)).createAlert(any(), eq(DISTRICT_ID));
+    }
+
+    private Signal spikeAfterBaseline(int spike) {
+        OutbreakDetectionEngine.DetectorState state = engine.new DetectorState();
+        observeAll(state, 1, baseline(10));
+        Signal signal = state.observe(weekIndex(11), spike);
+        assertNotNull(signal, "spike of " + spike + " should alert");
+        return signal;
+    }
+
+    private static List<Signal> observeAll(OutbreakDetectionEngine.DetectorState state, int firstWeek, List<Integer> series) {
+        List<Signal> signals = new ArrayList<>();
+        for (int i = 0; i < series.size(); i++) {
+            Signal signal = state.observe(weekIndex(firstWeek + i), series.get(i));
+            if (signal != null)
+                signals.add(signal);
+        }
+        return signals;
+    }
+
+    private static List<Integer> baseline(int weeks) {
+        List<Integer> series = new ArrayList<>(weeks);
+        for (int i = 0; i < weeks; i++) {
+            series.add(i % 2 == 0 ? 20 : 30);
+        }
+        return series;
+    }
+
+    private static List<Integer> repeat(int cases, int weeks) {
+        List<Integer> series = new ArrayList<>(weeks);
+        for (int i = 0; i < weeks; i++) {
+            series.add(cases);
+        }
+        return series;
+    }
+
+    private static GraphDataDTO row(long id, int week, int cases) {
+        return new GraphDataDTO(id, cases, 1 + (week - 1) / 5, YEAR, week, DISTRICT_ID);
+    }
+
+    // Same indexing as the engine, so gaps and cooldowns line up with the week numbers used here
+    private static int weekIndex(int week) {
+        return YEAR * CaseTimeSeriesStore.WEEKS_PER_YEAR + week;
+    }
+}
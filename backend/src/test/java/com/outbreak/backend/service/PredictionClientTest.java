@@ -0,0 +1,206 @@
+package com.outbreak.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.outbreak.backend.exceptions.APIException;
+import com.outbreak.backend.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Retry, deadline, in-flight cap and circuit breaker behaviour of PredictionClient against PredictionServerStub.
+ */
+class PredictionClientTest {
+
+    private static final Map<String, Object> FEATURES = Map.of("district", "Colombo", "week", 12);
+
+    private PredictionServerStub stub;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        stub = PredictionServerStub.start(Duration.ZERO, Duration.ZERO, 0.0, 503);
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void serverErrorsAreRetriedUpToMaxAttempts() {
+        stub.setFailure(1.0, 503);
+        PredictionClient client = client(3, 100, Duration.ofMinutes(1), 32, Duration.ofSeconds(10));
+
+        assertThrows(ServiceUnavailableException.class, () -> client.predict(FEATURES));
+        assertEquals(3, stub.getRequests());
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() {
+        stub.setFailure(1.0, 422);
+        PredictionClient client = client(3, 1, Duration.ofMinutes(1), 32, Duration.ofSeconds(10));
+
+        assertThrows(APIException.class, () -> client.predict(FEATURES));
+        assertEquals(1, stub.getRequests());
+        // The server answered, so a rejected input must not count towards opening the breaker
+        assertEquals(PredictionClient.CircuitState.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void malformedSuccessBodyIsNotRetried() {
+        stub.setMalformedBody(true);
+        PredictionClient client = client(3, 1, Duration.ofMinutes(1), 32, Duration.ofSeconds(10));
+
+        APIException unreadable = assertThrows(APIException.class, () -> client.predict(FEATURES));
+        assertTrue(unreadable.getMessage().contains("unreadable"));
+        assertEquals(1, stub.getRequests());
+        assertEquals(PredictionClient.CircuitState.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void deadlineBoundsTheWholeCall() {
+        stub.setLatency(Duration.ofSeconds(2));
+        PredictionClient client = client(3, 100, Duration.ofMinutes(1), 32, Duration.ofSeconds(10));
+
+        long startedAt = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, () -> client.predict(FEATURES, Duration.ofMillis(200)));
+        assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void callsBeyondMaxInFlightAreRejected() throws Exception {
+        stub.setLatency(Duration.ofMillis(500));
+        PredictionClient client = client(1, 100, Duration.ofMinutes(1), 1, Duration.ofSeconds(10));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = executor.submit(() -> client.predict(FEATURES));
+            waitForRequests(1);
+
+            ServiceUnavailableException busy = assertThrows(ServiceUnavailableException.class, () -> client.predict(FEATURES));
+            assertTrue(busy.getMessage().contains("busy"));
+            first.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, stub.getRequests());
+        assertEquals(PredictionClient.CircuitState.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void breakerOpensAfterFailureThresholdAndFailsFast() {
+        stub.setFailure(1.0, 503);
+        PredictionClient client = client(1, 3, Duration.ofMinutes(1), 32, Duration.ofSeconds(10));
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ServiceUnavailableException.class, () -> client.predict(FEATURES));
+            assertEquals(PredictionClient.CircuitState.CLOSED, client.getCircuitState());
+        }
+        assertThrows(ServiceUnavailableException.class, () -> client.predict(FEATURES));
+        assertEquals(PredictionClient.CircuitState.OPEN, client.getCircuitState());
+        assertEquals(3, stub.getRequests());
+
+        ServiceUnavailableException rejected = assertThrows(ServiceUnavailableException.class, () -> client.predict(FEATURES));
+        assertTrue(rejected.getRetryAfterSeconds() > 0);
+        assertEquals(3, stub.getRequests());
+    }
+
+    @Test
+    void halfOpenBreakerLetsExactlyOneTrialThrough() throws Exception {
+        stub.setFailure(1.0, 503);
+        PredictionClient client = client(1, 1, Duration.ofMillis(200), 32, Duration.ofSeconds(10));
+        assertThrows(ServiceUnavailableException.class, () -> client.predict(FEATURES));
+        assertEquals(PredictionClient.CircuitState.OPEN, client.getCircuitState());
+
+        // The server recovers but answers slowly, so the trial is still in flight while the others arrive
+        stub.setFailure(0.0, 503);
+        stub.setLatency(Duration.ofMillis(500));
+        Thread.sleep(300);
+        assertEquals(PredictionClient.CircuitState.HALF_OPEN, client.getCircuitState());
+
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        client.predict(FEATURES);
+                        succeeded.incrementAndGet();
+                    } catch (ServiceUnavailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, succeeded.get());
+        assertEquals(callers - 1, rejected.get());
+        assertEquals(2, stub.getRequests());
+        assertEquals(PredictionClient.CircuitState.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void failedTrialReopensTheBreaker() throws Exception {
+        stub.setFailure(1.0, 503);
+        PredictionClient client = client(1, 1, Duration.ofMillis(200), 32, Duration.ofSeconds(10));
+        assertThrows(ServiceUnavailableException.class, () -> client.predict(FEATURES));
+
+        Thread.sleep(300);
+        assertEquals(PredictionClient.CircuitState.HALF_OPEN, client.getCircuitState());
+        assertThrows(ServiceUnavailableException.class, () -> client.predict(FEATURES));
+        assertEquals(PredictionClient.CircuitState.OPEN, client.getCircuitState());
+        assertEquals(2, stub.getRequests());
+    }
+
+    private PredictionClient client(int maxAttempts, int failureThreshold, Duration openDuration,
+                                    int maxInFlight, Duration deadline) {
+        PredictionMetrics predictionMetrics = new PredictionMetrics();
+        ReflectionTestUtils.setField(predictionMetrics, "meterRegistry", new SimpleMeterRegistry());
+
+        PredictionClient predictionClient = new PredictionClient();
+        ReflectionTestUtils.setField(predictionClient, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(predictionClient, "predictionMetrics", predictionMetrics);
+        ReflectionTestUtils.setField(predictionClient, "predictUrl", stub.url());
+        ReflectionTestUtils.setField(predictionClient, "connectTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(predictionClient, "defaultDeadline", deadline);
+        ReflectionTestUtils.setField(predictionClient, "maxAttempts", maxAttempts);
+        // Short backoff pauses keep the retry tests fast
+        ReflectionTestUtils.setField(predictionClient, "retryBackoff", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(predictionClient, "maxInFlight", maxInFlight);
+        ReflectionTestUtils.setField(predictionClient, "failureThreshold", failureThreshold);
+        ReflectionTestUtils.setField(predictionClient, "openDuration", openDuration);
+        predictionClient.init();
+        return predictionClient;
+    }
+
+    private void waitForRequests(long expected) throws InterruptedException {
+        long giveUpAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stub.getRequests() < expected && System.nanoTime() < giveUpAt) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, stub.getRequests());
+    }
+}
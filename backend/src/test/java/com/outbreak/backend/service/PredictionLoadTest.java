@@ -0,0 +1,164 @@
+package com.outbreak.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.outbreak.backend.controller.PredictionController;
+import com.outbreak.backend.exceptions.MyGlobalExceptionHandler;
+import com.outbreak.backend.model.District;
+import com.outbreak.backend.payload.WeatherDataDTO;
+import com.outbreak.backend.repositories.DistrictRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.modelmapper.ModelMapper;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Load harness for the prediction path: PredictionController -> PredictionServiceImpl -> PredictionCache
+ * -> PredictionClient -> PredictionServerStub, with no database and no Python process.
+ *
+ * Run with: mvn test -Dtest=PredictionLoadTest -Dprediction.load=true
+ * Tune with -Dprediction.load.concurrency, .requests, .distinctInputs, .stubLatencyMs, .stubJitterMs,
+ * .stubErrorRate, .cacheSize (0 disables caching) and .deadlineMs.
+ */
+@EnabledIfSystemProperty(named = "prediction.load", matches = "true")
+class PredictionLoadTest {
+
+    private final int concurrency = Integer.getInteger("prediction.load.concurrency", 32);
+    private final int requests = Integer.getInteger("prediction.load.requests", 2000);
+    private final int distinctInputs = Integer.getInteger("prediction.load.distinctInputs", 50);
+    private final long stubLatencyMs = Long.getLong("prediction.load.stubLatencyMs", 20);
+    private final long stubJitterMs = Long.getLong("prediction.load.stubJitterMs", 10);
+    private final double stubErrorRate = Double.parseDouble(System.getProperty("prediction.load.stubErrorRate", "0"));
+    private final long cacheSize = Long.getLong("prediction.load.cacheSize", 10_000);
+    private final long deadlineMs = Long.getLong("prediction.load.deadlineMs", 10_000);
+
+    @Test
+    void predictionEndpointUnderLoad() throws Exception {
+        try (PredictionServerStub stub = PredictionServerStub.start(Duration.ofMillis(stubLatencyMs),
+                Duration.ofMillis(stubJitterMs), stubErrorRate, 503)) {
+
+            PredictionCache predictionCache = predictionCache();
+            PredictionClient predictionClient = predictionClient(stub.url());
+            MockMvc mockMvc = mockMvc(predictionCache, predictionClient);
+            ObjectMapper objectMapper = new ObjectMapper();
+
+            List<byte[]> bodies = new ArrayList<>(distinctInputs);
+            for (int i = 0; i < distinctInputs; i++) {
+                bodies.add(objectMapper.writeValueAsBytes(new WeatherDataDTO(null, 1 + i % 12, 1 + i % 52, 2024,
+                        30 + i % 5, 22 + i % 4, i % 200, 10 + i % 15, 20 + i % 30, i % 4)));
+            }
+
+            long[] latencies = new long[requests];
+            Map<Integer, Integer> statuses = new ConcurrentHashMap<>();
+            ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+            CountDownLatch done = new CountDownLatch(requests);
+            long startedAt = System.nanoTime();
+
+            for (int i = 0; i < requests; i++) {
+                int request = i;
+                clients.execute(() -> {
+                    long sentAt = System.nanoTime();
+                    try {
+                        long districtId = 1 + request % 25;
+                        int status = mockMvc.perform(post("/api/public/prediction/{districtId}", districtId)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(bodies.get(request % bodies.size())))
+                                .andReturn().getResponse().getStatus();
+                        statuses.merge(status, 1, Integer::sum);
+                    } catch (Exception e) {
+                        statuses.merge(-1, 1, Integer::sum);
+                    } finally {
+                        latencies[request] = System.nanoTime() - sentAt;
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+            long elapsedNanos = System.nanoTime() - startedAt;
+            clients.shutdown();
+
+            Arrays.sort(latencies);
+            System.out.printf("Prediction load: %d requests, concurrency %d, %d distinct inputs, stub %d+%d ms, error rate %.2f%n",
+                    requests, concurrency, distinctInputs, stubLatencyMs, stubJitterMs, stubErrorRate);
+            System.out.printf("  throughput %.0f req/s, statuses %s%n", requests / (elapsedNanos / 1e9), new TreeMap<>(statuses));
+            System.out.printf("  latency ms p50 %.2f, p95 %.2f, p99 %.2f, max %.2f%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1e6);
+            System.out.printf("  model server requests %d (%d failed), cache hits %d, coalesced %d, breaker %s%n",
+                    stub.getRequests(), stub.getFailures(), predictionCache.stats().hitCount(),
+                    predictionCache.getCoalescedCalls(), predictionClient.getCircuitState());
+        }
+    }
+
+    private PredictionCache predictionCache() {
+        PredictionCache predictionCache = new PredictionCache();
+        ReflectionTestUtils.setField(predictionCache, "maximumSize", cacheSize);
+        ReflectionTestUtils.setField(predictionCache, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(predictionCache, "modelVersion", "load-test");
+        predictionCache.init();
+        return predictionCache;
+    }
+
+    private PredictionClient predictionClient(String url) {
+        PredictionMetrics predictionMetrics = new PredictionMetrics();
+        ReflectionTestUtils.setField(predictionMetrics, "meterRegistry", new SimpleMeterRegistry());
+
+        PredictionClient predictionClient = new PredictionClient();
+        ReflectionTestUtils.setField(predictionClient, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(predictionClient, "predictionMetrics", predictionMetrics);
+        ReflectionTestUtils.setField(predictionClient, "predictUrl", url);
+        ReflectionTestUtils.setField(predictionClient, "connectTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(predictionClient, "defaultDeadline", Duration.ofMillis(deadlineMs));
+        ReflectionTestUtils.setField(predictionClient, "maxAttempts", 3);
+        ReflectionTestUtils.setField(predictionClient, "retryBackoff", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(predictionClient, "maxInFlight", 32);
+        ReflectionTestUtils.setField(predictionClient, "failureThreshold", 5);
+        ReflectionTestUtils.setField(predictionClient, "openDuration", Duration.ofSeconds(30));
+        predictionClient.init();
+        return predictionClient;
+    }
+
+    private MockMvc mockMvc(PredictionCache predictionCache, PredictionClient predictionClient) {
+        DistrictRepository districtRepository = mock(DistrictRepository.class);
+        when(districtRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Long districtId = invocation.getArgument(0);
+            return Optional.of(new District(districtId, "District" + districtId, null));
+        });
+
+        PredictionHistoryRecorder predictionHistoryRecorder = new PredictionHistoryRecorder(1);
+        ReflectionTestUtils.setField(predictionHistoryRecorder, "enabled", false);
+
+        PredictionServiceImpl predictionService = new PredictionServiceImpl();
+        ReflectionTestUtils.setField(predictionService, "districtRepository", districtRepository);
+        ReflectionTestUtils.setField(predictionService, "modelMapper", new ModelMapper());
+        ReflectionTestUtils.setField(predictionService, "predictionCache", predictionCache);
+        ReflectionTestUtils.setField(predictionService, "predictionClient", predictionClient);
+        ReflectionTestUtils.setField(predictionService, "predictionHistoryRecorder", predictionHistoryRecorder);
+        ReflectionTestUtils.setField(predictionService, "predictionMetrics",
+                ReflectionTestUtils.getField(predictionClient, "predictionMetrics"));
+
+        PredictionController predictionController = new PredictionController();
+        ReflectionTestUtils.setField(predictionController, "predictionService", predictionService);
+
+        return MockMvcBuilders.standaloneSetup(predictionController)
+                .setControllerAdvice(new MyGlobalExceptionHandler())
+                .build();
+    }
+
+    private double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
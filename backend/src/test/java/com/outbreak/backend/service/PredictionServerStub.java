@@ -0,0 +1,124 @@
+package com.outbreak.backend.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-JVM stand-in for the FastAPI /predict/ endpoint. Binds to a random local port and answers with a
+ * prediction derived from the request body, so identical features always give identical output.
+ * Latency, jitter and a share of failing responses can be injected.
+ */
+public class PredictionServerStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // Mutable so a test can take the "server" down and bring it back between calls
+    private volatile Duration latency;
+    private final Duration jitter;
+    private volatile double errorRate;
+    private volatile int errorStatus;
+    private volatile boolean malformedBody;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    private PredictionServerStub(Duration latency, Duration jitter, double errorRate, int errorStatus) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/predict/", this::handle);
+        // The default executor is a single thread, which would serialise the injected latency
+        this.server.setExecutor(executor);
+    }
+
+    public static PredictionServerStub start(Duration latency, Duration jitter, double errorRate, int errorStatus) throws IOException {
+        PredictionServerStub stub = new PredictionServerStub(latency, jitter, errorRate, errorStatus);
+        stub.server.start();
+        return stub;
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/predict/";
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    // 1.0 fails every request with the given status, 0.0 answers every request
+    public void setFailure(double errorRate, int errorStatus) {
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+    }
+
+    // Answers 200 with a body that is not JSON
+    public void setMalformedBody(boolean malformedBody) {
+        this.malformedBody = malformedBody;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long startedAt = System.nanoTime();
+        requests.incrementAndGet();
+        byte[] requestBody;
+        try (InputStream in = exchange.getRequestBody()) {
+            requestBody = in.readAllBytes();
+        }
+
+        long pause = latency.toMillis() + (jitter.isZero() ? 0 : ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1));
+        try {
+            Thread.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int status;
+        String responseBody;
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            failures.incrementAndGet();
+            status = errorStatus;
+            responseBody = "{\"detail\":\"injected failure\"}";
+        } else if (malformedBody) {
+            status = 200;
+            responseBody = "<html>proxy error</html>";
+        } else {
+            status = 200;
+            responseBody = "{\"predicted_cases\":" + Math.floorMod(Arrays.hashCode(requestBody), 500) + "}";
+        }
+
+        byte[] bytes = responseBody.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Server-Timing",
+                String.format("app;dur=%.2f", (System.nanoTime() - startedAt) / 1_000_000.0));
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
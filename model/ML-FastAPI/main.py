@@ -1,8 +1,9 @@
-from fastapi import FastAPI, HTTPException, Depends
+from fastapi import FastAPI, HTTPException, Depends, Request
 from pydantic import BaseModel, ValidationError, validator
 import pickle
 import numpy as np
 import pandas as pd
+import time
 
 # Load the dictionary that contains the model, scaler, and encoder
 with open('model/dengue_model_dict.pkl', 'rb') as file:
@@ -16,6 +17,14 @@ encoder = model_data['encoder']
 # FastAPI app
 app = FastAPI(title="Dengue Prediction API")
 
+# Report handling time so the backend can tell network time from model time
+@app.middleware("http")
+async def add_server_timing(request: Request, call_next):
+    started = time.perf_counter()
+    response = await call_next(request)
+    response.headers["Server-Timing"] = f"app;dur={(time.perf_counter() - started) * 1000:.2f}"
+    return response
+
 # Input Model
 class DengueRequest(BaseModel):
     year: int